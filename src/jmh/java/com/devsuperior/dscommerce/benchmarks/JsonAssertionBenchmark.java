@@ -0,0 +1,97 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import static org.hamcrest.Matchers.hasItems;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscommerce.tests.Fixtures;
+import com.devsuperior.dscommerce.tests.JsonStreamMatchers;
+
+import io.restassured.path.json.JsonPath;
+
+/**
+ * GPath versus {@link JsonStreamMatchers} for the assertions ProductControllerRA
+ * makes on /products, over a page of {@code elements} products shaped like the
+ * real response (300-character descriptions, nested categories).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonAssertionBenchmark {
+
+	@Param({ "10000" })
+	public int elements;
+
+	private String page;
+
+	private final Matcher<String> streamingFindAll = JsonStreamMatchers.each("content")
+			.where("price", JsonStreamMatchers.greaterThan(2000))
+			.values("name", hasItems("Product 1", "Product 9999"));
+
+	private final Matcher<String> streamingNames = JsonStreamMatchers.values("content.name", hasItems("Product 1", "Product 9999"));
+
+	private final Matcher<Iterable<String>> names = hasItems("Product 1", "Product 9999");
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		StringBuilder sb = new StringBuilder("{\"content\":[");
+		for (int i = 0; i < elements; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			double price = i % 2 == 1 ? 2100.0 + i : 100.0 + i;
+			sb.append("{\"id\":").append(i)
+					.append(",\"name\":\"Product ").append(i)
+					.append("\",\"description\":\"").append(Fixtures.LOREM_IPSUM)
+					.append("\",\"price\":").append(price)
+					.append(",\"imgUrl\":\"").append(Fixtures.IMG_URL)
+					.append("\",\"categories\":[{\"id\":2,\"name\":\"Eletrônicos\"},{\"id\":3,\"name\":\"Computadores\"}]}");
+		}
+		sb.append("],\"totalElements\":").append(elements).append(",\"number\":0,\"size\":").append(elements).append('}');
+		page = sb.toString();
+		if (!gpathFindAll() || !streamingFindAll() || !gpathNames() || !streamingNames()) {
+			throw new IllegalStateException("Benchmark assertions do not hold on the generated page");
+		}
+	}
+
+	@Benchmark
+	public boolean gpathFindAll() {
+		List<String> selected = JsonPath.from(page).getList("content.findAll { it.price > 2000 }.name");
+		return names.matches(selected);
+	}
+
+	@Benchmark
+	public boolean streamingFindAll() {
+		return streamingFindAll.matches(page);
+	}
+
+	@Benchmark
+	public boolean gpathNames() {
+		List<String> all = JsonPath.from(page).getList("content.name");
+		return names.matches(all);
+	}
+
+	@Benchmark
+	public boolean streamingNames() {
+		return streamingNames.matches(page);
+	}
+
+}
@@ -0,0 +1,177 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscommerce.tests.Fixtures;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of producing the request bodies of the RA tests, from building the
+ * nested maps the way ProductControllerRA/OrderControllerRA setUp does to
+ * having the encoded bytes ready to send.
+ * 
+ * Note that RestAssured does not call JSONObject.toJSONString(): a JSONObject
+ * is a HashMap, so .body(newProduct) goes through RestAssured's own Jackson
+ * mapper. The json-simple case shows what the library would cost on its own.
+ * 
+ * The cached case is what the harness uses (Fixtures).
+ * 
+ * Run with: mvn -Pjmh test-compile exec:exec@jmh (adds -prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+
+	private static final String DESCRIPTION = "Lorem ipsum, dolor sit amet consectetur adipisicing elit. Qui ad, adipisci illum ipsam velit et odit eaque reprehenderit ex maxime delectus dolore labore, quisquam quae tempora natus esse aliquam veniam doloremque quam minima culpa alias maiores commodi. Perferendis enim";
+	private static final String IMG_URL = "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg";
+
+	@Param({ "postProduct", "putProduct", "postOrder" })
+	public String payload;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final JsonFactory factory = mapper.getFactory();
+
+	private byte[] cached;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		cached = switch (payload) {
+		case "postProduct" -> Fixtures.POST_PRODUCT.bytes();
+		case "putProduct" -> Fixtures.PUT_PRODUCT.bytes();
+		default -> Fixtures.POST_ORDER.bytes();
+		};
+	}
+
+	@Benchmark
+	public byte[] jsonSimple() {
+		return new JSONObject(buildMap()).toJSONString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] jacksonDatabind() throws IOException {
+		return mapper.writeValueAsBytes(buildMap());
+	}
+
+	@Benchmark
+	public byte[] jacksonStreaming() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+		try (JsonGenerator gen = factory.createGenerator(out, JsonEncoding.UTF8)) {
+			switch (payload) {
+			case "postProduct" -> writeProduct(gen, "Meu produto novo", 50.0);
+			case "putProduct" -> writeProduct(gen, "Produto atualizado", 200.0);
+			default -> writeOrder(gen);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] cachedBytes() {
+		return cached;
+	}
+
+	private Map<String, ?> buildMap() {
+		return switch (payload) {
+		case "postProduct" -> productMap("Meu produto novo", 50.0);
+		case "putProduct" -> productMap("Produto atualizado", 200.0);
+		default -> orderMap();
+		};
+	}
+
+	private static Map<String, Object> productMap(String name, double price) {
+		Map<String, Object> product = new HashMap<>();
+		product.put("name", name);
+		product.put("description", DESCRIPTION);
+		product.put("imgUrl", IMG_URL);
+		product.put("price", price);
+
+		List<Map<String, Object>> categories = new ArrayList<>();
+		Map<String, Object> category1 = new HashMap<>();
+		category1.put("id", 2);
+		Map<String, Object> category2 = new HashMap<>();
+		category2.put("id", 3);
+		categories.add(category1);
+		categories.add(category2);
+
+		product.put("categories", categories);
+		return product;
+	}
+
+	private static Map<String, List<Map<String, Object>>> orderMap() {
+		Map<String, Object> item1 = new HashMap<>();
+		item1.put("productId", 1);
+		item1.put("quantity", 2);
+		Map<String, Object> item2 = new HashMap<>();
+		item2.put("productId", 5);
+		item2.put("quantity", 1);
+
+		List<Map<String, Object>> items = new ArrayList<>();
+		items.add(item1);
+		items.add(item2);
+
+		Map<String, List<Map<String, Object>>> order = new HashMap<>();
+		order.put("items", items);
+		return order;
+	}
+
+	private static void writeProduct(JsonGenerator gen, String name, double price) throws IOException {
+		gen.writeStartObject();
+		gen.writeStringField("name", name);
+		gen.writeStringField("description", DESCRIPTION);
+		gen.writeStringField("imgUrl", IMG_URL);
+		gen.writeNumberField("price", price);
+		gen.writeArrayFieldStart("categories");
+		gen.writeStartObject();
+		gen.writeNumberField("id", 2);
+		gen.writeEndObject();
+		gen.writeStartObject();
+		gen.writeNumberField("id", 3);
+		gen.writeEndObject();
+		gen.writeEndArray();
+		gen.writeEndObject();
+	}
+
+	private static void writeOrder(JsonGenerator gen) throws IOException {
+		gen.writeStartObject();
+		gen.writeArrayFieldStart("items");
+		gen.writeStartObject();
+		gen.writeNumberField("productId", 1);
+		gen.writeNumberField("quantity", 2);
+		gen.writeEndObject();
+		gen.writeStartObject();
+		gen.writeNumberField("productId", 5);
+		gen.writeNumberField("quantity", 1);
+		gen.writeEndObject();
+		gen.writeEndArray();
+		gen.writeEndObject();
+	}
+
+}
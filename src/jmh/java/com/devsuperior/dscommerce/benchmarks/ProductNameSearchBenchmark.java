@@ -0,0 +1,77 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.DataForks;
+import com.devsuperior.dscommerce.repositories.PageRequest;
+import com.devsuperior.dscommerce.repositories.PageResult;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+
+/**
+ * First page of /products?name= straight on the stand-in's ProductRepository,
+ * with the n-gram name index (indexed=true) and with the linear scan it
+ * replaced, for growing catalogs. Names are random pairs of words plus a
+ * serial number; one product in a thousand is a "Macbook", so the "macbook"
+ * term is selective while "smart" matches about a tenth of the catalog.
+ * 
+ * Run with: mvn -Pjmh test-compile exec:exec@jmh -Djmh.include=ProductNameSearch
+ * (the 1M catalogs need about 1 GB of heap).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductNameSearchBenchmark {
+
+	private static final String[] WORDS = { "Smart", "TV", "Notebook", "Gamer", "Mouse", "Teclado", "Monitor", "Cadeira",
+			"Fone", "Caixa", "Som", "Livro", "Mesa", "Cabo", "Console", "Tablet", "Relógio", "Câmera", "Impressora", "Roteador" };
+
+	@Param({ "10000", "100000", "1000000" })
+	public int products;
+
+	@Param({ "true", "false" })
+	public boolean indexed;
+
+	@Param({ "macbook", "smart" })
+	public String term;
+
+	private final PageRequest firstPage = PageRequest.of(0, PageRequest.DEFAULT_SIZE, null);
+
+	private ProductRepository repository;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DataForks forks = new DataForks();
+		repository = new ProductRepository(forks, indexed);
+		Random random = new Random(42);
+		for (int i = 1; i <= products; i++) {
+			String name = i % 1000 == 0 ? "Macbook Pro " + i
+					: WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+			repository.save(new Product(null, name, "", 100.0, ""));
+		}
+		forks.freeze();
+	}
+
+	@Benchmark
+	public PageResult<Product> searchByName() {
+		return repository.searchByName(term, firstPage);
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.devsuperior.dscommerce.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson converter that serializes into a buffer before writing, so JSON
+ * responses carry a Content-Length. A streamed body has no known length and
+ * Tomcat compresses it whatever server.compression.min-response-size says.
+ */
+class BufferedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	BufferedJsonHttpMessageConverter(ObjectMapper mapper) {
+		super(mapper);
+	}
+
+	@Override
+	protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+		super.writeInternal(object, type, new HttpOutputMessage() {
+
+			@Override
+			public OutputStream getBody() {
+				return buffer;
+			}
+
+			@Override
+			public HttpHeaders getHeaders() {
+				return outputMessage.getHeaders();
+			}
+		});
+		outputMessage.getHeaders().setContentLength(buffer.size());
+		buffer.writeTo(outputMessage.getBody());
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.devsuperior.dscommerce.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.devsuperior.dscommerce.repositories.DataForks;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Binds the data fork named by the {@code X-Data-Fork} header to the request
+ * thread for the duration of the request.
+ */
+@Component
+public class DataForkInterceptor implements HandlerInterceptor {
+
+	public static final String HEADER = "X-Data-Fork";
+
+	private final DataForks forks;
+
+	public DataForkInterceptor(DataForks forks) {
+		this.forks = forks;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		String fork = request.getHeader(HEADER);
+		if (fork == null || fork.isBlank()) {
+			return true;
+		}
+		if (!forks.exists(fork)) {
+			throw new ResourceNotFoundException("Recurso não encontrado");
+		}
+		forks.bind(fork);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		forks.unbind();
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.devsuperior.dscommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class SecurityConfig {
+
+	/**
+	 * BCrypt like the DSCommerce backend, so the password grant costs what it
+	 * costs in production; security.password.bcrypt-strength (default 10) can
+	 * lower it for quick local runs.
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
+	}
+
+}
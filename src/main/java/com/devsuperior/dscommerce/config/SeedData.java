@@ -0,0 +1,149 @@
+package com.devsuperior.dscommerce.config;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Payment;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.repositories.DataForks;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+import com.devsuperior.dscommerce.seed.RepositorySink;
+import com.devsuperior.dscommerce.seed.SyntheticData;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Fixture data of the DSCommerce backend (its import.sql), loaded before the
+ * web server starts accepting requests. seed.generated-products,
+ * seed.generated-users (clients user1@gmail.com, ...) and seed.generated-orders
+ * add {@link SyntheticData} volumes after the fixtures, reproducible from
+ * seed.random-seed. Seeding ends by freezing the data, so later writes only
+ * change the view ({@link DataForks}) that made them.
+ */
+@Component
+public class SeedData {
+
+	private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+	private static final String IMG_URL = "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/%d-big.jpg";
+
+	private static final Object[][] PRODUCTS = {
+		{ "The Lord of the Rings", 90.5 },
+		{ "Smart TV", 2190.0 },
+		{ "Macbook Pro", 1250.0 },
+		{ "PC Gamer", 1200.0 },
+		{ "Rails for Dummies", 100.99 },
+		{ "PC Gamer Ex", 1350.0 },
+		{ "PC Gamer X", 1350.0 },
+		{ "PC Gamer Alfa", 1850.0 },
+		{ "PC Gamer Tera", 1950.0 },
+		{ "PC Gamer Y", 1700.0 },
+		{ "PC Gamer Nitro", 1450.0 },
+		{ "PC Gamer Card", 1850.0 },
+		{ "PC Gamer Plus", 1350.0 },
+		{ "PC Gamer Hera", 2250.0 },
+		{ "PC Gamer Weed", 2200.0 },
+		{ "PC Gamer Max", 2340.0 },
+		{ "PC Gamer Turbo", 1280.0 },
+		{ "PC Gamer Hot", 1450.0 },
+		{ "PC Gamer Ez", 1750.0 },
+		{ "PC Gamer Tr", 1650.0 },
+		{ "PC Gamer Tx", 1680.0 },
+		{ "PC Gamer Er", 1850.0 },
+		{ "PC Gamer Min", 2250.0 },
+		{ "PC Gamer Boo", 2350.0 },
+		{ "PC Gamer Foo", 4170.0 }
+	};
+
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final UserRepository userRepository;
+	private final OrderRepository orderRepository;
+	private final DataForks forks;
+	private final PasswordEncoder passwordEncoder;
+	private final SyntheticData syntheticData;
+
+	public SeedData(CategoryRepository categoryRepository, ProductRepository productRepository,
+			UserRepository userRepository, OrderRepository orderRepository, DataForks forks,
+			PasswordEncoder passwordEncoder, @Value("${seed.generated-products:0}") long generatedProducts,
+			@Value("${seed.generated-users:0}") int generatedUsers, @Value("${seed.generated-orders:0}") long generatedOrders,
+			@Value("${seed.random-seed:42}") long randomSeed) {
+		this.categoryRepository = categoryRepository;
+		this.productRepository = productRepository;
+		this.userRepository = userRepository;
+		this.orderRepository = orderRepository;
+		this.forks = forks;
+		this.passwordEncoder = passwordEncoder;
+		this.syntheticData = new SyntheticData(randomSeed, generatedProducts, generatedUsers, generatedOrders,
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	@PostConstruct
+	public void seed() {
+		Category books = categoryRepository.save(new Category(1L, "Livros"));
+		Category electronics = categoryRepository.save(new Category(2L, "Eletrônicos"));
+		Category computers = categoryRepository.save(new Category(3L, "Computadores"));
+
+		for (int i = 0; i < PRODUCTS.length; i++) {
+			long id = i + 1;
+			Product product = new Product(id, (String) PRODUCTS[i][0], DESCRIPTION, (Double) PRODUCTS[i][1], String.format(IMG_URL, id));
+			if (id == 1 || id == 5) {
+				product.getCategories().add(books);
+			}
+			else if (id == 2) {
+				product.getCategories().add(electronics);
+				product.getCategories().add(computers);
+			}
+			else {
+				product.getCategories().add(computers);
+			}
+			productRepository.save(product);
+		}
+
+		// one hash for everybody: every seeded user has password 123456
+		String password = passwordEncoder.encode(SyntheticData.PASSWORD);
+		User maria = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", LocalDate.parse("2001-07-25"), password);
+		maria.addRole("ROLE_CLIENT");
+		User alex = new User(2L, "Alex Green", "alex@gmail.com", "977777777", LocalDate.parse("1987-12-13"), password);
+		alex.addRole("ROLE_CLIENT");
+		alex.addRole("ROLE_ADMIN");
+		User ana = new User(3L, "Ana Pink", "ana@gmail.com", "966666666", LocalDate.parse("1995-03-08"), password);
+		ana.addRole("ROLE_ADMIN");
+		userRepository.save(maria);
+		userRepository.save(alex);
+		userRepository.save(ana);
+
+		Order order1 = new Order(1L, Instant.parse("2022-07-25T13:00:00Z"), OrderStatus.PAID, maria, new Payment(1L, Instant.parse("2022-07-25T15:00:00Z")));
+		order1.getItems().add(item(1L, 2));
+		order1.getItems().add(item(3L, 1));
+		Order order2 = new Order(2L, Instant.parse("2022-07-29T15:50:00Z"), OrderStatus.DELIVERED, alex, new Payment(2L, Instant.parse("2022-07-30T11:00:00Z")));
+		order2.getItems().add(item(3L, 1));
+		Order order3 = new Order(3L, Instant.parse("2022-08-03T14:20:00Z"), OrderStatus.WAITING_PAYMENT, maria, null);
+		order3.getItems().add(item(1L, 1));
+		orderRepository.save(order1);
+		orderRepository.save(order2);
+		orderRepository.save(order3);
+
+		if (!syntheticData.isEmpty()) {
+			syntheticData.generate(new RepositorySink(categoryRepository, productRepository, userRepository, orderRepository, password));
+		}
+		forks.freeze();
+	}
+
+	private OrderItem item(Long productId, int quantity) {
+		Product product = productRepository.findById(productId).orElseThrow();
+		return new OrderItem(product, quantity, product.getPrice());
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.devsuperior.dscommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.devsuperior.dscommerce.security.AuthInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	private final DataForkInterceptor dataForkInterceptor;
+	private final AuthInterceptor authInterceptor;
+
+	public WebConfig(DataForkInterceptor dataForkInterceptor, AuthInterceptor authInterceptor) {
+		this.dataForkInterceptor = dataForkInterceptor;
+		this.authInterceptor = authInterceptor;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(dataForkInterceptor);
+		registry.addInterceptor(authInterceptor);
+	}
+
+	/**
+	 * Replaces Spring Boot's Jackson converter, so JSON responses get a
+	 * Content-Length and small ones stay below the compression threshold.
+	 */
+	@Bean
+	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper mapper) {
+		return new BufferedJsonHttpMessageConverter(mapper);
+	}
+
+}
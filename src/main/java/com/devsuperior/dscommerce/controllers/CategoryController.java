@@ -0,0 +1,32 @@
+package com.devsuperior.dscommerce.controllers;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscommerce.services.CategoryService;
+import com.devsuperior.dscommerce.services.RepresentationCache.Representation;
+
+@RestController
+@RequestMapping(value = "/categories")
+public class CategoryController {
+
+	private final CategoryService service;
+
+	public CategoryController(CategoryService service) {
+		this.service = service;
+	}
+
+	/**
+	 * The cached body with its strong ETag; Spring MVC answers a matching
+	 * If-None-Match with 304 Not Modified and no body.
+	 */
+	@GetMapping
+	public ResponseEntity<byte[]> findAll() {
+		Representation list = service.findAllRepresentation();
+		return ResponseEntity.ok().eTag(list.etag()).contentType(MediaType.APPLICATION_JSON).body(list.body());
+	}
+
+}
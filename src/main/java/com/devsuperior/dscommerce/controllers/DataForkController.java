@@ -0,0 +1,44 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.devsuperior.dscommerce.dto.DataForkDTO;
+import com.devsuperior.dscommerce.services.DataForkService;
+
+/**
+ * Test support of the stand-in server: isolated copies of the seeded data,
+ * selected per request with the {@code X-Data-Fork} header.
+ */
+@RestController
+@RequestMapping(value = "/forks")
+public class DataForkController {
+
+	private final DataForkService service;
+
+	public DataForkController(DataForkService service) {
+		this.service = service;
+	}
+
+	@PostMapping
+	public ResponseEntity<DataForkDTO> create() {
+		DataForkDTO dto = service.create();
+		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+				.buildAndExpand(dto.getId()).toUri();
+		return ResponseEntity.created(uri).body(dto);
+	}
+
+	@DeleteMapping(value = "/{id}")
+	public ResponseEntity<Void> discard(@PathVariable String id) {
+		service.discard(id);
+		return ResponseEntity.noContent().build();
+	}
+
+}
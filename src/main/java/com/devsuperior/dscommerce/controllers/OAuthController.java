@@ -0,0 +1,47 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscommerce.dto.TokenDTO;
+import com.devsuperior.dscommerce.services.TokenService;
+
+@RestController
+@RequestMapping(value = "/oauth2")
+public class OAuthController {
+
+	private final TokenService service;
+
+	public OAuthController(TokenService service) {
+		this.service = service;
+	}
+
+	@PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+	public ResponseEntity<?> token(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			@RequestParam(name = "grant_type", required = false) String grantType,
+			@RequestParam(name = "username", required = false) String username,
+			@RequestParam(name = "password", required = false) String password) {
+		if (!service.isValidClient(authorization)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "invalid_client"));
+		}
+		if (!"password".equals(grantType)) {
+			return ResponseEntity.badRequest().body(Map.of("error", "unsupported_grant_type"));
+		}
+		Optional<TokenDTO> token = service.passwordGrant(username, password);
+		if (token.isEmpty()) {
+			return ResponseEntity.badRequest().body(Map.of("error", "invalid_grant"));
+		}
+		return ResponseEntity.ok(token.get());
+	}
+
+}
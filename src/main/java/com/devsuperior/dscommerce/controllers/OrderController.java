@@ -0,0 +1,58 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.security.HasRole;
+import com.devsuperior.dscommerce.services.IdempotencyCache.Outcome;
+import com.devsuperior.dscommerce.services.OrderService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping(value = "/orders")
+public class OrderController {
+
+	private final OrderService service;
+
+	public OrderController(OrderService service) {
+		this.service = service;
+	}
+
+	@HasRole({ "ROLE_ADMIN", "ROLE_CLIENT" })
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<OrderDTO> findById(@PathVariable Long id) {
+		OrderDTO dto = service.findById(id);
+		return ResponseEntity.ok(dto);
+	}
+
+	/**
+	 * A request repeating the Idempotency-Key of an earlier one gets the
+	 * order that one created, marked with Idempotent-Replayed: true.
+	 */
+	@HasRole("ROLE_CLIENT")
+	@PostMapping
+	public ResponseEntity<OrderDTO> insert(@Valid @RequestBody OrderDTO dto,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+		Outcome<OrderDTO> outcome = service.insert(dto, idempotencyKey);
+		dto = outcome.result();
+		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+				.buildAndExpand(dto.getId()).toUri();
+		ResponseEntity.BodyBuilder response = ResponseEntity.created(uri);
+		if (outcome.replayed()) {
+			response.header("Idempotent-Replayed", "true");
+		}
+		return response.body(dto);
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.devsuperior.dscommerce.dto.PageDTO;
+import com.devsuperior.dscommerce.dto.ProductBatchDTO;
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.repositories.PageRequest;
+import com.devsuperior.dscommerce.security.HasRole;
+import com.devsuperior.dscommerce.services.ProductService;
+import com.devsuperior.dscommerce.services.RepresentationCache.Representation;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping(value = "/products")
+public class ProductController {
+
+	private final ProductService service;
+
+	public ProductController(ProductService service) {
+		this.service = service;
+	}
+
+	/**
+	 * The cached body with its strong ETag; Spring MVC answers a matching
+	 * If-None-Match with 304 Not Modified and no body.
+	 */
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<byte[]> findById(@PathVariable Long id) {
+		Representation product = service.findRepresentationById(id);
+		return ResponseEntity.ok().eTag(product.etag()).contentType(MediaType.APPLICATION_JSON).body(product.body());
+	}
+
+	@GetMapping
+	public ResponseEntity<PageDTO<ProductDTO>> findAll(
+			@RequestParam(name = "name", defaultValue = "") String name,
+			@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@RequestParam(name = "sort", required = false) String sort) {
+		PageDTO<ProductDTO> dto = service.findAll(name, PageRequest.of(page, size, sort));
+		return ResponseEntity.ok(dto);
+	}
+
+	@HasRole("ROLE_ADMIN")
+	@PostMapping
+	public ResponseEntity<ProductDTO> insert(@Valid @RequestBody ProductDTO dto) {
+		dto = service.insert(dto);
+		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+				.buildAndExpand(dto.getId()).toUri();
+		return ResponseEntity.created(uri).body(dto);
+	}
+
+	/**
+	 * Imports an array of products in one request. Invalid items are listed
+	 * with their index and field errors while the valid ones are created, so
+	 * the answer is 200 whatever the mix.
+	 */
+	@HasRole("ROLE_ADMIN")
+	@PostMapping(value = "/batch")
+	public ResponseEntity<ProductBatchDTO> insertAll(@RequestBody List<ProductDTO> dtos) {
+		ProductBatchDTO dto = service.insertAll(dtos);
+		return ResponseEntity.ok(dto);
+	}
+
+	@HasRole("ROLE_ADMIN")
+	@PutMapping(value = "/{id}")
+	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO dto) {
+		dto = service.update(id, dto);
+		return ResponseEntity.ok(dto);
+	}
+
+	@HasRole("ROLE_ADMIN")
+	@DeleteMapping(value = "/{id}")
+	public ResponseEntity<Void> delete(@PathVariable Long id) {
+		service.delete(id);
+		return ResponseEntity.noContent().build();
+	}
+
+}
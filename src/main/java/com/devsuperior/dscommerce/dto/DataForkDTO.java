@@ -0,0 +1,15 @@
+package com.devsuperior.dscommerce.dto;
+
+public class DataForkDTO {
+
+	private String id;
+
+	public DataForkDTO(String id) {
+		this.id = id;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItemError {
+
+	private Integer index;
+	private List<FieldMessage> errors = new ArrayList<>();
+
+	public ItemError(Integer index) {
+		this.index = index;
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public List<FieldMessage> getErrors() {
+		return errors;
+	}
+
+	public void addError(String fieldName, String message) {
+		errors.add(new FieldMessage(fieldName, message));
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.devsuperior.dscommerce.repositories.PageResult;
+
+/**
+ * JSON shape of a Spring Data page, so clients written against the real
+ * backend ("content", "totalElements", "number"...) work unchanged.
+ */
+public class PageDTO<T> {
+
+	private List<T> content;
+	private long totalElements;
+	private int totalPages;
+	private int size;
+	private int number;
+	private int numberOfElements;
+
+	public PageDTO(List<T> content, long totalElements, int number, int size) {
+		this.content = content;
+		this.totalElements = totalElements;
+		this.number = number;
+		this.size = size;
+		this.numberOfElements = content.size();
+		this.totalPages = size == 0 ? 1 : (int) ((totalElements + size - 1) / size);
+	}
+
+	public static <E, T> PageDTO<T> of(PageResult<E> page, Function<E, T> mapper) {
+		return new PageDTO<>(page.content().stream().map(mapper).toList(), page.totalElements(), page.request().page(), page.request().size());
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public long getTotalElements() {
+		return totalElements;
+	}
+
+	public int getTotalPages() {
+		return totalPages;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	public int getNumberOfElements() {
+		return numberOfElements;
+	}
+
+	public boolean isFirst() {
+		return number == 0;
+	}
+
+	public boolean isLast() {
+		return number + 1 >= totalPages;
+	}
+
+	public boolean isEmpty() {
+		return content.isEmpty();
+	}
+
+}
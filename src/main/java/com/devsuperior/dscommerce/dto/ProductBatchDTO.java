@@ -0,0 +1,31 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch import: the created products in request order, and the
+ * rejected items with their position in the request and what was wrong.
+ */
+public class ProductBatchDTO {
+
+	private List<ProductDTO> products = new ArrayList<>();
+	private List<ItemError> errors = new ArrayList<>();
+
+	public Integer getCreated() {
+		return products.size();
+	}
+
+	public Integer getRejected() {
+		return errors.size();
+	}
+
+	public List<ProductDTO> getProducts() {
+		return products;
+	}
+
+	public List<ItemError> getErrors() {
+		return errors;
+	}
+
+}
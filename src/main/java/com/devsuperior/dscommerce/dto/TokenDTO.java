@@ -0,0 +1,33 @@
+package com.devsuperior.dscommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class TokenDTO {
+
+	@JsonProperty("access_token")
+	private String accessToken;
+
+	@JsonProperty("token_type")
+	private String tokenType = "Bearer";
+
+	@JsonProperty("expires_in")
+	private long expiresIn;
+
+	public TokenDTO(String accessToken, long expiresIn) {
+		this.accessToken = accessToken;
+		this.expiresIn = expiresIn;
+	}
+
+	public String getAccessToken() {
+		return accessToken;
+	}
+
+	public String getTokenType() {
+		return tokenType;
+	}
+
+	public long getExpiresIn() {
+		return expiresIn;
+	}
+
+}
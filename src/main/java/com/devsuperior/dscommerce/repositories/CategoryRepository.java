@@ -0,0 +1,41 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.entities.Category;
+
+/**
+ * In-memory category store. Categories are not forked, and any save moves
+ * the store to a new {@link #version()}.
+ */
+@Repository
+public class CategoryRepository {
+
+	private final ConcurrentSkipListMap<Long, Category> categories = new ConcurrentSkipListMap<>();
+	private final AtomicLong version = new AtomicLong();
+
+	public List<Category> findAll() {
+		return new ArrayList<>(categories.values());
+	}
+
+	public Optional<Category> findById(Long id) {
+		return id == null ? Optional.empty() : Optional.ofNullable(categories.get(id));
+	}
+
+	public Category save(Category category) {
+		categories.put(category.getId(), category);
+		version.incrementAndGet();
+		return category;
+	}
+
+	public long version() {
+		return version.get();
+	}
+
+}
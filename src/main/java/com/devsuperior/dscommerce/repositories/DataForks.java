@@ -0,0 +1,154 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of isolated views of the seeded data. The request thread picks its
+ * view through {@link #bind(String)}; unbound threads use the main view. Each
+ * {@link ForkedMap} of a repository keeps its own overlay per fork, so a fork
+ * spans all forked repositories at once.
+ * 
+ * A fork not used for forks.ttl-seconds (default 900) is discarded, so the
+ * forks of a killed test run do not hold their overlays for the life of the
+ * server, and at most forks.max-count (200) live at once.
+ */
+@Component
+public class DataForks {
+
+	public static final String MAIN = "main";
+
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+	public static final int DEFAULT_MAX_COUNT = 200;
+
+	private final Map<String, AtomicLong> lastUsed = new ConcurrentHashMap<>();
+	private final List<ForkedMap<?>> maps = new CopyOnWriteArrayList<>();
+	private final long ttlNanos;
+	private final int maxCount;
+	private final LongSupplier nanoTime;
+	private volatile boolean frozen;
+
+	public DataForks() {
+		this(DEFAULT_TTL, DEFAULT_MAX_COUNT, System::nanoTime);
+	}
+
+	@Autowired
+	public DataForks(@Value("${forks.ttl-seconds:900}") long ttlSeconds, @Value("${forks.max-count:200}") int maxCount) {
+		this(Duration.ofSeconds(ttlSeconds), maxCount, System::nanoTime);
+	}
+
+	DataForks(Duration ttl, int maxCount, LongSupplier nanoTime) {
+		this.ttlNanos = ttl.toNanos();
+		this.maxCount = maxCount;
+		this.nanoTime = nanoTime;
+	}
+
+	public <V> ForkedMap<V> newMap() {
+		return newMap(null, false);
+	}
+
+	/**
+	 * Map searchable by substring of text, through an n-gram index if
+	 * indexed.
+	 */
+	public <V> ForkedMap<V> newMap(Function<V, String> text, boolean indexed) {
+		ForkedMap<V> map = new ForkedMap<>(this, text, indexed);
+		maps.add(map);
+		return map;
+	}
+
+	/**
+	 * Ends seeding: from now on every write lands in the overlay of the view
+	 * that makes it.
+	 */
+	public void freeze() {
+		frozen = true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * New fork, or empty when forks.max-count forks are in use even after
+	 * the idle ones were discarded.
+	 */
+	public Optional<String> fork() {
+		long now = nanoTime.getAsLong();
+		lastUsed.forEach((fork, used) -> {
+			if (now - used.get() >= ttlNanos) {
+				discard(fork);
+			}
+		});
+		synchronized (lastUsed) {
+			if (lastUsed.size() >= maxCount) {
+				return Optional.empty();
+			}
+			String fork = UUID.randomUUID().toString();
+			lastUsed.put(fork, new AtomicLong(now));
+			return Optional.of(fork);
+		}
+	}
+
+	/**
+	 * Whether fork names a live view; using a fork keeps it alive.
+	 */
+	public boolean exists(String fork) {
+		if (MAIN.equals(fork)) {
+			return true;
+		}
+		AtomicLong used = lastUsed.get(fork);
+		if (used == null) {
+			return false;
+		}
+		long now = nanoTime.getAsLong();
+		if (now - used.get() >= ttlNanos) {
+			discard(fork);
+			return false;
+		}
+		used.set(now);
+		return true;
+	}
+
+	public boolean discard(String fork) {
+		if (lastUsed.remove(fork) == null) {
+			return false;
+		}
+		for (ForkedMap<?> map : maps) {
+			map.discard(fork);
+		}
+		return true;
+	}
+
+	public int size() {
+		return lastUsed.size();
+	}
+
+	public String current() {
+		String fork = CURRENT.get();
+		return fork == null ? MAIN : fork;
+	}
+
+	public void bind(String fork) {
+		CURRENT.set(fork);
+	}
+
+	public void unbind() {
+		CURRENT.remove();
+	}
+
+}
@@ -0,0 +1,262 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Id-ordered entity map with copy-on-write views per {@link DataForks} fork.
+ * 
+ * Seed data is written straight into a shared base map, which is frozen
+ * afterwards. Every view (the main one and each fork) then writes into its
+ * own overlay of replaced and deleted entries, created on its first write;
+ * reads look at the overlay first and fall back to the base. Forking and
+ * discarding are therefore O(1) and never copy the seed. Values must be
+ * replaced, never modified in place.
+ * 
+ * A map created with a text function can be searched by substring of that
+ * text; when indexed it keeps an {@link NgramIndex} of the text for the base
+ * and for each overlay, so {@link #forEachMatch(String, Consumer)} only looks
+ * at likely matches instead of every value.
+ */
+public class ForkedMap<V> {
+
+	private static final Object DELETED = new Object();
+	private static final int STRIPES = 64;
+
+	private final DataForks forks;
+	private final ConcurrentSkipListMap<Long, V> base = new ConcurrentSkipListMap<>();
+	private final AtomicLong baseSequence = new AtomicLong();
+	private final Map<String, Overlay> overlays = new ConcurrentHashMap<>();
+	private final Function<V, String> text;
+	private final NgramIndex baseIndex;
+	private final Object[] stripes = new Object[STRIPES];
+
+	ForkedMap(DataForks forks, Function<V, String> text, boolean indexed) {
+		this.forks = forks;
+		this.text = text;
+		this.baseIndex = indexed ? new NgramIndex() : null;
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Object();
+		}
+	}
+
+	public Optional<V> get(Long id) {
+		if (id == null) {
+			return Optional.empty();
+		}
+		Overlay overlay = overlay(false);
+		if (overlay != null) {
+			Object changed = overlay.entries.get(id);
+			if (changed != null) {
+				return changed == DELETED ? Optional.empty() : Optional.of(cast(changed));
+			}
+		}
+		return Optional.ofNullable(base.get(id));
+	}
+
+	public boolean containsKey(Long id) {
+		return get(id).isPresent();
+	}
+
+	/**
+	 * Id of a new entity in the current view.
+	 */
+	public long nextId() {
+		Overlay overlay = overlay(true);
+		return (overlay == null ? baseSequence : overlay.sequence).incrementAndGet();
+	}
+
+	/**
+	 * Stores value under id. The write and its index update happen under the
+	 * lock stripe of id, so concurrent writes of one id reach the index in
+	 * the order they reached the map.
+	 */
+	public void put(Long id, V value) {
+		Overlay overlay = overlay(true);
+		synchronized (stripe(id)) {
+			if (overlay == null) {
+				index(baseIndex, id, base.put(id, value), value);
+			}
+			else {
+				index(overlay.index, id, overlay.entries.put(id, value), value);
+			}
+		}
+		(overlay == null ? baseSequence : overlay.sequence).accumulateAndGet(id, Math::max);
+	}
+
+	public void remove(Long id) {
+		Overlay overlay = overlay(true);
+		synchronized (stripe(id)) {
+			if (overlay == null) {
+				index(baseIndex, id, base.remove(id), null);
+			}
+			else {
+				index(overlay.index, id, overlay.entries.put(id, DELETED), null);
+			}
+		}
+	}
+
+	/**
+	 * Values of the current view in id order, merging the overlay into the
+	 * base in a single pass.
+	 */
+	public List<V> values() {
+		Overlay overlay = overlay(false);
+		if (overlay == null || overlay.entries.isEmpty()) {
+			return new ArrayList<>(base.values());
+		}
+		List<V> values = new ArrayList<>(base.size() + overlay.entries.size());
+		forEachValue(overlay, values::add);
+		return values;
+	}
+
+	/**
+	 * Values of the current view in id order whose text contains term,
+	 * ignoring case.
+	 */
+	public List<V> search(String term) {
+		List<V> matches = new ArrayList<>();
+		forEachMatch(term, matches::add);
+		return matches;
+	}
+
+	/**
+	 * Passes the values of {@link #search(String)} to action in id order
+	 * without collecting them, so a caller that keeps only a page does not
+	 * copy every match. Without an index, or for terms too short for one,
+	 * this filters every value.
+	 */
+	public void forEachMatch(String term, Consumer<? super V> action) {
+		if (text == null) {
+			throw new IllegalStateException("Map has no searchable text");
+		}
+		String normalized = NgramIndex.normalize(term);
+		Overlay overlay = overlay(false);
+		if (baseIndex == null || normalized.length() < NgramIndex.N) {
+			forEachValue(overlay, normalized.isEmpty() ? action : value -> {
+				if (matches(value, normalized)) {
+					action.accept(value);
+				}
+			});
+			return;
+		}
+		long[] fromBase = baseIndex.candidates(normalized);
+		long[] fromOverlay = overlay == null ? new long[0] : overlay.index.candidates(normalized);
+		int b = 0;
+		int o = 0;
+		while (b < fromBase.length || o < fromOverlay.length) {
+			if (o == fromOverlay.length || (b < fromBase.length && fromBase[b] < fromOverlay[o])) {
+				long id = fromBase[b++];
+				if (overlay == null || !overlay.entries.containsKey(id)) {
+					acceptIfMatches(action, base.get(id), normalized);
+				}
+				continue;
+			}
+			if (b < fromBase.length && fromBase[b] == fromOverlay[o]) {
+				b++;
+			}
+			Object changed = overlay.entries.get(fromOverlay[o++]);
+			if (changed != null && changed != DELETED) {
+				acceptIfMatches(action, cast(changed), normalized);
+			}
+		}
+	}
+
+	public int size() {
+		return values().size();
+	}
+
+	void discard(String fork) {
+		overlays.remove(fork);
+	}
+
+	private Overlay overlay(boolean forWrite) {
+		if (!forks.isFrozen()) {
+			return null;
+		}
+		String fork = forks.current();
+		return forWrite ? overlays.computeIfAbsent(fork, f -> new Overlay(baseSequence.get(), baseIndex != null)) : overlays.get(fork);
+	}
+
+	private Object stripe(Long id) {
+		return stripes[Long.hashCode(id) & (STRIPES - 1)];
+	}
+
+	private void index(NgramIndex index, Long id, Object previous, V value) {
+		if (index == null) {
+			return;
+		}
+		String oldText = previous == null || previous == DELETED ? null : text.apply(cast(previous));
+		index.update(id, oldText, value == null ? null : text.apply(value));
+	}
+
+	private boolean matches(V value, String normalized) {
+		return NgramIndex.normalize(text.apply(value)).contains(normalized);
+	}
+
+	private void acceptIfMatches(Consumer<? super V> action, V value, String normalized) {
+		if (value != null && matches(value, normalized)) {
+			action.accept(value);
+		}
+	}
+
+	/**
+	 * Values of the view with the given overlay in id order, merging the
+	 * overlay into the base in a single pass.
+	 */
+	private void forEachValue(Overlay overlay, Consumer<? super V> action) {
+		if (overlay == null || overlay.entries.isEmpty()) {
+			base.values().forEach(action);
+			return;
+		}
+		Iterator<Map.Entry<Long, V>> baseEntries = base.entrySet().iterator();
+		Iterator<Map.Entry<Long, Object>> changes = overlay.entries.entrySet().iterator();
+		Map.Entry<Long, V> nextBase = next(baseEntries);
+		Map.Entry<Long, Object> nextChange = next(changes);
+		while (nextBase != null || nextChange != null) {
+			int cmp = nextBase == null ? 1 : nextChange == null ? -1 : nextBase.getKey().compareTo(nextChange.getKey());
+			if (cmp < 0) {
+				action.accept(nextBase.getValue());
+				nextBase = next(baseEntries);
+				continue;
+			}
+			if (nextChange.getValue() != DELETED) {
+				action.accept(cast(nextChange.getValue()));
+			}
+			if (cmp == 0) {
+				nextBase = next(baseEntries);
+			}
+			nextChange = next(changes);
+		}
+	}
+
+	private static <E> E next(Iterator<E> iterator) {
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V cast(Object value) {
+		return (V) value;
+	}
+
+	private static class Overlay {
+
+		final ConcurrentSkipListMap<Long, Object> entries = new ConcurrentSkipListMap<>();
+		final AtomicLong sequence;
+		final NgramIndex index;
+
+		Overlay(long seedSequence, boolean indexed) {
+			sequence = new AtomicLong(seedSequence);
+			index = indexed ? new NgramIndex() : null;
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive trigram index from text to entity ids, for substring
+ * search. Each trigram keeps a sorted array of the ids whose text contains
+ * it; a query intersects the lists of its own trigrams, smallest first.
+ * The result is a superset of the matches, to be checked against the
+ * current text, and terms shorter than {@link #N} cannot be answered.
+ */
+class NgramIndex {
+
+	static final int N = 3;
+
+	private static final long[] NONE = new long[0];
+
+	private final Map<String, Postings> postings = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	static String normalize(String text) {
+		return text == null ? "" : text.toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * Moves id from the trigrams of oldText to those of newText; either may
+	 * be null for an insert or a delete.
+	 */
+	void update(long id, String oldText, String newText) {
+		Set<String> removed = grams(normalize(oldText));
+		Set<String> added = grams(normalize(newText));
+		Set<String> kept = new HashSet<>(removed);
+		kept.retainAll(added);
+		removed.removeAll(kept);
+		added.removeAll(kept);
+		if (removed.isEmpty() && added.isEmpty()) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			for (String gram : removed) {
+				Postings list = postings.get(gram);
+				if (list != null && list.remove(id) && list.size == 0) {
+					postings.remove(gram);
+				}
+			}
+			for (String gram : added) {
+				postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Ascending ids whose text may contain the already normalized term,
+	 * which must be at least {@link #N} characters long.
+	 */
+	long[] candidates(String term) {
+		Set<String> grams = grams(term);
+		lock.readLock().lock();
+		try {
+			Postings[] lists = new Postings[grams.size()];
+			int i = 0;
+			for (String gram : grams) {
+				Postings list = postings.get(gram);
+				if (list == null) {
+					return NONE;
+				}
+				lists[i++] = list;
+			}
+			Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+			long[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+			int size = result.length;
+			for (int l = 1; l < lists.length && size > 0; l++) {
+				size = lists[l].retain(result, size);
+			}
+			return size == result.length ? result : Arrays.copyOf(result, size);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + N <= text.length(); i++) {
+			grams.add(text.substring(i, i + N));
+		}
+		return grams;
+	}
+
+	private static class Postings {
+
+		long[] ids = new long[4];
+		int size;
+
+		void add(long id) {
+			if (size > 0 && ids[size - 1] >= id) {
+				int at = Arrays.binarySearch(ids, 0, size, id);
+				if (at >= 0) {
+					return;
+				}
+				insert(-at - 1, id);
+				return;
+			}
+			insert(size, id);
+		}
+
+		boolean remove(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			if (at < 0) {
+				return false;
+			}
+			System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+			size--;
+			return true;
+		}
+
+		/**
+		 * Keeps in the first size entries of candidates only the ids of this
+		 * list, returning their new count.
+		 */
+		int retain(long[] candidates, int size) {
+			int kept = 0;
+			int from = 0;
+			for (int i = 0; i < size && from < this.size; i++) {
+				int at = Arrays.binarySearch(ids, from, this.size, candidates[i]);
+				if (at >= 0) {
+					candidates[kept++] = candidates[i];
+					from = at + 1;
+				}
+				else {
+					from = -at - 1;
+				}
+			}
+			return kept;
+		}
+
+		private void insert(int at, long id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			System.arraycopy(ids, at, ids, at + 1, size - at);
+			ids[at] = id;
+			size++;
+		}
+	}
+
+}
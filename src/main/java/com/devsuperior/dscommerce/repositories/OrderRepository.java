@@ -0,0 +1,40 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.entities.Order;
+
+@Repository
+public class OrderRepository {
+
+	private final ForkedMap<Order> orders;
+
+	public OrderRepository(DataForks forks) {
+		this.orders = forks.newMap();
+	}
+
+	public Optional<Order> findById(Long id) {
+		return orders.get(id);
+	}
+
+	public Order save(Order order) {
+		if (order.getId() == null) {
+			order.setId(orders.nextId());
+		}
+		orders.put(order.getId(), order);
+		return order;
+	}
+
+	public boolean existsByProductId(Long productId) {
+		return orders.values().stream()
+				.flatMap(order -> order.getItems().stream())
+				.anyMatch(item -> item.getProduct().getId().equals(productId));
+	}
+
+	public long count() {
+		return orders.size();
+	}
+
+}
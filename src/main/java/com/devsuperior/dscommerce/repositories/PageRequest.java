@@ -0,0 +1,39 @@
+package com.devsuperior.dscommerce.repositories;
+
+/**
+ * Page coordinates and sort order, as parsed from the "page", "size" and
+ * "sort" query parameters ("sort=name" or "sort=price,desc"). Like Spring
+ * Data's pageable resolver, {@link #of} clamps out-of-range parameters: a
+ * negative page becomes the first one, a size below one the default and a
+ * size above {@link #MAX_SIZE} the maximum.
+ */
+public record PageRequest(int page, int size, String sort, boolean descending) {
+
+	public static final int DEFAULT_SIZE = 20;
+	public static final int MAX_SIZE = 2000;
+
+	public PageRequest {
+		if (page < 0) {
+			throw new IllegalArgumentException("Page index must not be less than zero");
+		}
+		if (size < 1) {
+			throw new IllegalArgumentException("Page size must not be less than one");
+		}
+	}
+
+	public static PageRequest of(int page, int size, String sort) {
+		page = Math.max(page, 0);
+		size = size < 1 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+		if (sort == null || sort.isBlank()) {
+			return new PageRequest(page, size, "id", false);
+		}
+		String[] parts = sort.split(",");
+		boolean descending = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc");
+		return new PageRequest(page, size, parts[0].trim(), descending);
+	}
+
+	public long offset() {
+		return (long) page * size;
+	}
+
+}
@@ -0,0 +1,7 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.List;
+
+public record PageResult<T>(List<T> content, long totalElements, PageRequest request) {
+
+}
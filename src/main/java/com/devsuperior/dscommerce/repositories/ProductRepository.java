@@ -0,0 +1,122 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.entities.Product;
+
+/**
+ * In-memory product store ordered by id, forkable through {@link DataForks}.
+ * Stored products are replaced, never modified in place, so readers always
+ * see a consistent entity.
+ * 
+ * Names are kept in an n-gram index, updated on every save and delete, so a
+ * name search does not scan the catalog; products.name-index=false turns it
+ * off for comparison.
+ * 
+ * Every save stamps the product with a new version from one counter shared
+ * by all forks, so a version identifies one state of one product.
+ */
+@Repository
+public class ProductRepository {
+
+	private final ForkedMap<Product> products;
+	private final AtomicLong versions = new AtomicLong();
+
+	public ProductRepository(DataForks forks, @Value("${products.name-index:true}") boolean nameIndex) {
+		this.products = forks.newMap(Product::getName, nameIndex);
+	}
+
+	public Optional<Product> findById(Long id) {
+		return products.get(id);
+	}
+
+	public boolean existsById(Long id) {
+		return products.containsKey(id);
+	}
+
+	/**
+	 * Page of the products whose name contains name. Matches arrive in id
+	 * order, so the default sort keeps only the page and counts the rest;
+	 * other sorts keep the best offset + size matches in a bounded heap
+	 * instead of sorting them all.
+	 */
+	public PageResult<Product> searchByName(String name, PageRequest pageRequest) {
+		long from = pageRequest.offset();
+		long to = from + pageRequest.size();
+		long[] total = new long[1];
+		Comparator<Product> comparator = comparator(pageRequest);
+		if (comparator == null) {
+			List<Product> page = new ArrayList<>();
+			products.forEachMatch(name, product -> {
+				long position = total[0]++;
+				if (position >= from && position < to) {
+					page.add(product);
+				}
+			});
+			return new PageResult<>(page, total[0], pageRequest);
+		}
+		// the worst of the kept matches sits at the head, ready to be evicted
+		PriorityQueue<Product> best = new PriorityQueue<>(comparator.reversed());
+		products.forEachMatch(name, product -> {
+			total[0]++;
+			if (best.size() < to) {
+				best.add(product);
+			}
+			else if (comparator.compare(product, best.peek()) < 0) {
+				best.poll();
+				best.add(product);
+			}
+		});
+		List<Product> kept = new ArrayList<>(best);
+		kept.sort(comparator);
+		return new PageResult<>(kept.subList((int) Math.min(from, kept.size()), kept.size()), total[0], pageRequest);
+	}
+
+	public Product save(Product product) {
+		if (product.getId() == null) {
+			product.setId(products.nextId());
+		}
+		product.setVersion(versions.incrementAndGet());
+		products.put(product.getId(), product);
+		return product;
+	}
+
+	public List<Product> saveAll(List<Product> products) {
+		for (Product product : products) {
+			save(product);
+		}
+		return products;
+	}
+
+	public void deleteById(Long id) {
+		products.remove(id);
+	}
+
+	public long count() {
+		return products.size();
+	}
+
+	/**
+	 * Order of the page, or null for ascending id, the order matches arrive in.
+	 */
+	private static Comparator<Product> comparator(PageRequest pageRequest) {
+		Comparator<Product> comparator = switch (pageRequest.sort()) {
+		case "name" -> Comparator.comparing(Product::getName).thenComparing(Product::getId);
+		case "price" -> Comparator.comparing(Product::getPrice).thenComparing(Product::getId);
+		default -> null;
+		};
+		if (comparator == null) {
+			return pageRequest.descending() ? Comparator.comparing(Product::getId, Comparator.reverseOrder()) : null;
+		}
+		return pageRequest.descending() ? comparator.reversed() : comparator;
+	}
+
+}
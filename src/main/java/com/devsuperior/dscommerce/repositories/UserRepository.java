@@ -0,0 +1,31 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.entities.User;
+
+@Repository
+public class UserRepository {
+
+	private final ConcurrentSkipListMap<Long, User> users = new ConcurrentSkipListMap<>();
+	private final ConcurrentHashMap<String, User> usersByEmail = new ConcurrentHashMap<>();
+
+	public Optional<User> findById(Long id) {
+		return id == null ? Optional.empty() : Optional.ofNullable(users.get(id));
+	}
+
+	public Optional<User> findByEmail(String email) {
+		return email == null ? Optional.empty() : Optional.ofNullable(usersByEmail.get(email));
+	}
+
+	public User save(User user) {
+		users.put(user.getId(), user);
+		usersByEmail.put(user.getEmail(), user);
+		return user;
+	}
+
+}
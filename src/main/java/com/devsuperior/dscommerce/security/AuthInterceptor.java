@@ -0,0 +1,69 @@
+package com.devsuperior.dscommerce.security;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+import com.devsuperior.dscommerce.services.exceptions.ForbiddenException;
+import com.devsuperior.dscommerce.services.exceptions.UnauthorizedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Resolves the bearer token of every request and enforces {@link HasRole}.
+ * Roles are taken from the user the token was issued to, not from the token.
+ * Runs before argument binding, so 401/403 win over validation errors just
+ * like with Spring Security in the real backend.
+ */
+@Component
+public class AuthInterceptor implements HandlerInterceptor {
+
+	public static final String USER_ATTRIBUTE = AuthInterceptor.class.getName() + ".user";
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final JwtTokenService tokenService;
+	private final UserRepository userRepository;
+
+	public AuthInterceptor(JwtTokenService tokenService, UserRepository userRepository) {
+		this.tokenService = tokenService;
+		this.userRepository = userRepository;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(handler instanceof HandlerMethod method)) {
+			return true;
+		}
+		Optional<User> user = resolveUser(request.getHeader("Authorization"));
+		user.ifPresent(u -> request.setAttribute(USER_ATTRIBUTE, u));
+
+		HasRole hasRole = method.getMethodAnnotation(HasRole.class);
+		if (hasRole == null) {
+			return true;
+		}
+		if (user.isEmpty()) {
+			throw new UnauthorizedException("Full authentication is required to access this resource");
+		}
+		for (String role : hasRole.value()) {
+			if (user.get().hasRole(role)) {
+				return true;
+			}
+		}
+		throw new ForbiddenException("Access Denied");
+	}
+
+	private Optional<User> resolveUser(String authorization) {
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+			return Optional.empty();
+		}
+		return tokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim())
+				.flatMap(claims -> userRepository.findByEmail(claims.subject()));
+	}
+
+}
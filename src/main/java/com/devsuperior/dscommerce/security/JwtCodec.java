@@ -0,0 +1,95 @@
+package com.devsuperior.dscommerce.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compact HS256 JSON Web Tokens signed with a shared secret. Plain Java with no
+ * Spring dependency, so the test harness can mint the same tokens the server
+ * accepts. Each thread keeps its own initialized {@link Mac}.
+ */
+public class JwtCodec {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final ThreadLocal<Mac> macs;
+
+	public JwtCodec(byte[] secret) {
+		SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+		this.macs = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance(ALGORITHM);
+				mac.init(key);
+				return mac;
+			}
+			catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	public String encode(TokenClaims claims) {
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("sub", claims.subject());
+		payload.put("authorities", claims.authorities());
+		payload.put("iat", claims.issuedAt().getEpochSecond());
+		payload.put("exp", claims.expiresAt().getEpochSecond());
+		try {
+			String signingInput = HEADER + "." + ENCODER.encodeToString(mapper.writeValueAsBytes(payload));
+			return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Claims of a well-formed token whose signature matches, expired or not.
+	 */
+	public Optional<TokenClaims> decode(String token) {
+		int firstDot = token.indexOf('.');
+		int lastDot = token.lastIndexOf('.');
+		if (firstDot < 0 || firstDot == lastDot || !token.startsWith(HEADER + ".")) {
+			return Optional.empty();
+		}
+		try {
+			byte[] signature = DECODER.decode(token.substring(lastDot + 1));
+			if (!MessageDigest.isEqual(signature, sign(token.substring(0, lastDot)))) {
+				return Optional.empty();
+			}
+			JsonNode payload = mapper.readTree(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+			List<String> authorities = new ArrayList<>();
+			payload.path("authorities").forEach(authority -> authorities.add(authority.asText()));
+			return Optional.of(new TokenClaims(payload.path("sub").asText(), List.copyOf(authorities),
+					Instant.ofEpochSecond(payload.path("iat").asLong()), Instant.ofEpochSecond(payload.path("exp").asLong())));
+		}
+		catch (IllegalArgumentException | IOException e) {
+			return Optional.empty();
+		}
+	}
+
+	private byte[] sign(String signingInput) {
+		return macs.get().doFinal(signingInput.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
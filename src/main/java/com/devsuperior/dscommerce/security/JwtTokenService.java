@@ -0,0 +1,65 @@
+package com.devsuperior.dscommerce.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.entities.User;
+
+/**
+ * Issues and verifies the JWT access tokens of the stand-in server, signed
+ * with security.jwt.secret. Verified tokens are cached, so a request with a
+ * token seen before costs one map lookup and an expiry check instead of an
+ * HMAC and a JSON parse. Invalid tokens are never cached, and the cache is
+ * simply cleared when it reaches its bound.
+ */
+@Component
+public class JwtTokenService {
+
+	private static final int MAX_CACHED_TOKENS = 10_000;
+
+	private final JwtCodec codec;
+	private final Duration duration;
+	private final ConcurrentHashMap<String, TokenClaims> verified = new ConcurrentHashMap<>();
+
+	public JwtTokenService(@Value("${security.jwt.secret}") String secret,
+			@Value("${security.token.duration:86400}") long durationSeconds) {
+		this.codec = new JwtCodec(secret.getBytes(StandardCharsets.UTF_8));
+		this.duration = Duration.ofSeconds(durationSeconds);
+	}
+
+	public String issue(User user) {
+		Instant now = Instant.now();
+		return codec.encode(new TokenClaims(user.getEmail(), List.copyOf(user.getRoles()), now, now.plus(duration)));
+	}
+
+	public Optional<TokenClaims> verify(String token) {
+		TokenClaims claims = verified.get(token);
+		if (claims == null) {
+			claims = codec.decode(token).orElse(null);
+			if (claims == null) {
+				return Optional.empty();
+			}
+			if (verified.size() >= MAX_CACHED_TOKENS) {
+				verified.clear();
+			}
+			verified.put(token, claims);
+		}
+		if (claims.isExpired(Instant.now())) {
+			verified.remove(token, claims);
+			return Optional.empty();
+		}
+		return Optional.of(claims);
+	}
+
+	public long getDurationSeconds() {
+		return duration.getSeconds();
+	}
+
+}
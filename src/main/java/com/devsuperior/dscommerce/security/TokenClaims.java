@@ -0,0 +1,16 @@
+package com.devsuperior.dscommerce.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims carried by an access token: the user's email as subject, the roles
+ * granted when it was issued, and its validity window.
+ */
+public record TokenClaims(String subject, List<String> authorities, Instant issuedAt, Instant expiresAt) {
+
+	public boolean isExpired(Instant now) {
+		return !expiresAt.isAfter(now);
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.devsuperior.dscommerce.seed;
+
+import java.util.List;
+
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.Payment;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+
+/**
+ * Loads generated rows straight into the stand-in's repositories, resolving
+ * the ids they refer to against what was loaded before. Generated users are
+ * clients sharing one password hash.
+ */
+public class RepositorySink implements SyntheticData.Sink {
+
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final UserRepository userRepository;
+	private final OrderRepository orderRepository;
+	private final String passwordHash;
+
+	public RepositorySink(CategoryRepository categoryRepository, ProductRepository productRepository,
+			UserRepository userRepository, OrderRepository orderRepository, String passwordHash) {
+		this.categoryRepository = categoryRepository;
+		this.productRepository = productRepository;
+		this.userRepository = userRepository;
+		this.orderRepository = orderRepository;
+		this.passwordHash = passwordHash;
+	}
+
+	@Override
+	public void products(List<SyntheticData.ProductRow> rows) {
+		for (SyntheticData.ProductRow row : rows) {
+			Product product = new Product(row.id(), row.name(), row.description(), row.price(), row.imgUrl());
+			for (Long categoryId : row.categoryIds()) {
+				product.getCategories().add(categoryRepository.findById(categoryId).orElseThrow());
+			}
+			productRepository.save(product);
+		}
+	}
+
+	@Override
+	public void users(List<SyntheticData.UserRow> rows) {
+		for (SyntheticData.UserRow row : rows) {
+			User user = new User(row.id(), row.name(), row.email(), row.phone(), row.birthDate(), passwordHash);
+			user.addRole("ROLE_CLIENT");
+			userRepository.save(user);
+		}
+	}
+
+	@Override
+	public void orders(List<SyntheticData.OrderRow> rows) {
+		for (SyntheticData.OrderRow row : rows) {
+			Payment payment = row.paymentMoment() == null ? null : new Payment(row.id(), row.paymentMoment());
+			Order order = new Order(row.id(), row.moment(), row.status(), userRepository.findById(row.clientId()).orElseThrow(), payment);
+			for (SyntheticData.ItemRow item : row.items()) {
+				order.getItems().add(new OrderItem(productRepository.findById(item.productId()).orElseThrow(), item.quantity(), item.price()));
+			}
+			orderRepository.save(order);
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.devsuperior.dscommerce.seed;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Writes generated rows as SQL for the DSCommerce backend's schema, to run
+ * after its import.sql (which holds the fixtures). Rows keep their generated
+ * ids, in multi-row INSERTs of {@link #ROWS_PER_INSERT}; the identity columns
+ * are moved past them at the end. Generated users get ROLE_CLIENT (role 1)
+ * and the password 123456.
+ * 
+ * Run with: mvn -Pload compile exec:java@seed-sql -Dseed.generated-products=1000000
+ * (also seed.generated-users, seed.generated-orders, seed.random-seed and
+ * seed.sql.output, default target/synthetic-seed.sql).
+ */
+public class SqlSeedWriter implements SyntheticData.Sink {
+
+	static final int ROWS_PER_INSERT = 1000;
+
+	private final Writer out;
+	private final String passwordHash;
+	private long lastProductId;
+	private long lastUserId;
+	private long lastOrderId;
+
+	public SqlSeedWriter(Writer out, String passwordHash) {
+		this.out = out;
+		this.passwordHash = passwordHash;
+	}
+
+	public static void main(String[] args) throws IOException {
+		SyntheticData data = new SyntheticData(Long.getLong("seed.random-seed", 42L), Long.getLong("seed.generated-products", 0L),
+				Integer.getInteger("seed.generated-users", 0), Long.getLong("seed.generated-orders", 0L),
+				Runtime.getRuntime().availableProcessors());
+		Path file = Path.of(System.getProperty("seed.sql.output", "target/synthetic-seed.sql"));
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		long start = System.nanoTime();
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			data.generate(new SqlSeedWriter(writer, new BCryptPasswordEncoder().encode(SyntheticData.PASSWORD)));
+		}
+		System.out.printf(Locale.ROOT, "Wrote %s (%d MB) in %.1f s%n", file.toAbsolutePath(), Files.size(file) >> 20,
+				(System.nanoTime() - start) / 1e9);
+	}
+
+	@Override
+	public void products(List<SyntheticData.ProductRow> rows) {
+		insert("tb_product (id, name, price, description, img_url)", rows, row -> "(" + row.id() + ", " + text(row.name()) + ", "
+				+ row.price() + ", " + text(row.description()) + ", " + text(row.imgUrl()) + ")");
+		insert("tb_product_category (product_id, category_id)", rows.stream()
+				.flatMap(row -> row.categoryIds().stream().map(category -> "(" + row.id() + ", " + category + ")"))
+				.toList(), Function.identity());
+		lastProductId = rows.get(rows.size() - 1).id();
+	}
+
+	@Override
+	public void users(List<SyntheticData.UserRow> rows) {
+		insert("tb_user (id, name, email, phone, password, birth_date)", rows, row -> "(" + row.id() + ", " + text(row.name()) + ", "
+				+ text(row.email()) + ", " + text(row.phone()) + ", " + text(passwordHash) + ", " + text(row.birthDate().toString()) + ")");
+		insert("tb_user_role (user_id, role_id)", rows, row -> "(" + row.id() + ", 1)");
+		lastUserId = rows.get(rows.size() - 1).id();
+	}
+
+	@Override
+	public void orders(List<SyntheticData.OrderRow> rows) {
+		insert("tb_order (id, moment, status, client_id)", rows, row -> "(" + row.id() + ", " + timestamp(row.moment()) + ", "
+				+ row.status().ordinal() + ", " + row.clientId() + ")");
+		insert("tb_order_item (order_id, product_id, quantity, price)", rows.stream()
+				.flatMap(row -> row.items().stream().map(item -> "(" + row.id() + ", " + item.productId() + ", " + item.quantity() + ", "
+						+ item.price() + ")"))
+				.toList(), Function.identity());
+		insert("tb_payment (order_id, moment)", rows.stream()
+				.filter(row -> row.paymentMoment() != null)
+				.map(row -> "(" + row.id() + ", " + timestamp(row.paymentMoment()) + ")")
+				.toList(), Function.identity());
+		lastOrderId = rows.get(rows.size() - 1).id();
+	}
+
+	@Override
+	public void finish() {
+		restart("tb_product", lastProductId);
+		restart("tb_user", lastUserId);
+		restart("tb_order", lastOrderId);
+		try {
+			out.flush();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private <T> void insert(String table, List<T> rows, Function<T, String> values) {
+		try {
+			for (int i = 0; i < rows.size(); i++) {
+				out.write(i % ROWS_PER_INSERT == 0 ? "INSERT INTO " + table + " VALUES\n" : ",\n");
+				out.write(values.apply(rows.get(i)));
+				if (i % ROWS_PER_INSERT == ROWS_PER_INSERT - 1 || i == rows.size() - 1) {
+					out.write(";\n");
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void restart(String table, long lastId) {
+		if (lastId == 0) {
+			return;
+		}
+		try {
+			out.write("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (lastId + 1) + ";\n");
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static String text(String value) {
+		return "'" + value.replace("'", "''") + "'";
+	}
+
+	private static String timestamp(Instant instant) {
+		return "TIMESTAMP WITH TIME ZONE '" + instant + "'";
+	}
+
+}
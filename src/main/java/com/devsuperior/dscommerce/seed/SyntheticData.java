@@ -0,0 +1,291 @@
+package com.devsuperior.dscommerce.seed;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import com.devsuperior.dscommerce.entities.OrderStatus;
+
+/**
+ * Seeded generator of catalog, client and order volumes on top of the
+ * fixtures of {@link com.devsuperior.dscommerce.config.SeedData}. Generated
+ * products and orders start at id 1001, so the fixtures (products 1-25, the
+ * three users, Maria's and Alex's orders) stay as the RA tests know them and
+ * the ids they use as missing (100) stay missing.
+ *
+ * Every row is a pure function of the seed and its own id (each draws from a
+ * random generator keyed by both), so rows are produced in parallel chunks
+ * and still come out identical whatever the parallelism. Chunks are handed
+ * to the {@link Sink} in id order, products first, then users, then orders,
+ * with at most two chunks per thread in flight: memory stays constant
+ * however many rows are generated.
+ */
+public class SyntheticData {
+
+	public static final long FIRST_PRODUCT_ID = 1001;
+	public static final long FIRST_USER_ID = 4;
+	public static final long FIRST_ORDER_ID = 1001;
+	public static final String PASSWORD = "123456";
+
+	static final int CHUNK_SIZE = 10_000;
+
+	private static final Instant FIRST_MOMENT = Instant.parse("2022-01-01T00:00:00Z");
+	private static final long MOMENT_RANGE_SECONDS = 3L * 365 * 24 * 3600;
+	private static final long[] FIXTURE_CLIENTS = { 1, 2 };
+
+	// streams: every property that other rows depend on gets its own
+	private static final int PRODUCT = 1;
+	private static final int CATEGORY = 2;
+	private static final int PRICE = 3;
+	private static final int USER = 4;
+	private static final int ORDER = 5;
+
+	private static final String[] BOOK_PREFIXES = { "Guia de", "Introdução a", "Aprendendo", "Dominando", "Manual de", "Fundamentos de", "Receitas de" };
+	private static final String[] BOOK_TOPICS = { "Java", "Spring Boot", "Algoritmos", "Redes", "Banco de Dados", "Python", "Arquitetura de Software",
+			"Estruturas de Dados", "Testes Automatizados", "Kotlin", "Microsserviços", "Segurança" };
+	private static final String[] ELECTRONICS = { "Smart TV", "Fone de Ouvido", "Caixa de Som", "Smartphone", "Tablet", "Câmera", "Relógio Inteligente",
+			"Console", "Soundbar", "Projetor" };
+	private static final String[] ELECTRONICS_BRANDS = { "Samsung", "LG", "Sony", "Philips", "Xiaomi", "JBL", "Motorola", "TCL" };
+	private static final String[] COMPUTERS = { "Notebook", "PC Gamer", "Monitor", "Teclado", "Mouse", "Placa de Vídeo", "SSD", "Roteador", "Webcam",
+			"Headset" };
+	private static final String[] COMPUTER_BRANDS = { "Dell", "Lenovo", "Acer", "Asus", "HP", "Positivo", "Logitech", "Redragon" };
+	private static final String[] LOREM = ("lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor incididunt ut labore et "
+			+ "dolore magna aliqua enim ad minim veniam quis nostrud exercitation ullamco laboris nisi aliquip ex ea commodo consequat").split(" ");
+	private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Diego", "Elisa", "Fábio", "Gabriela", "Heitor", "Isabela", "João", "Larissa",
+			"Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia", "Thiago", "Vitória", "Wagner" };
+	private static final String[] LAST_NAMES = { "Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa", "Almeida", "Ferreira", "Rodrigues",
+			"Gomes", "Martins", "Araújo", "Barbosa", "Ribeiro" };
+	private static final String IMG_URL = "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/%d-big.jpg";
+
+	public record ProductRow(long id, String name, String description, double price, String imgUrl, List<Long> categoryIds) {
+	}
+
+	public record UserRow(long id, String name, String email, String phone, LocalDate birthDate) {
+	}
+
+	public record ItemRow(long productId, int quantity, double price) {
+	}
+
+	public record OrderRow(long id, Instant moment, OrderStatus status, long clientId, Instant paymentMoment, List<ItemRow> items) {
+	}
+
+	/**
+	 * Receives the generated rows chunk by chunk, always from the same thread.
+	 */
+	public interface Sink {
+
+		void products(List<ProductRow> rows);
+
+		void users(List<UserRow> rows);
+
+		void orders(List<OrderRow> rows);
+
+		default void finish() {
+		}
+	}
+
+	private final long seed;
+	private final long products;
+	private final int users;
+	private final long orders;
+	private final int parallelism;
+
+	public SyntheticData(long seed, long products, int users, long orders, int parallelism) {
+		if (products < 0 || users < 0 || orders < 0) {
+			throw new IllegalArgumentException("Generated volumes must not be negative");
+		}
+		if (orders > 0 && products == 0) {
+			throw new IllegalArgumentException("Generated orders need generated products to order");
+		}
+		this.seed = seed;
+		this.products = products;
+		this.users = users;
+		this.orders = orders;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	public boolean isEmpty() {
+		return products == 0 && users == 0 && orders == 0;
+	}
+
+	public void generate(Sink sink) {
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try {
+			stream(executor, FIRST_PRODUCT_ID, products, this::product, sink::products);
+			stream(executor, FIRST_USER_ID, users, this::user, sink::users);
+			stream(executor, FIRST_ORDER_ID, orders, this::order, sink::orders);
+			sink.finish();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	public ProductRow product(long id) {
+		SplittableRandom random = random(PRODUCT, id);
+		long primary = primaryCategory(id);
+		List<Long> categoryIds = new ArrayList<>(3);
+		categoryIds.add(primary);
+		// 70% in one category, 25% in two, 5% in all three
+		double roll = random.nextDouble();
+		if (roll < 0.30) {
+			long[] others = primary == 1 ? new long[] { 2, 3 } : primary == 2 ? new long[] { 1, 3 } : new long[] { 1, 2 };
+			int first = random.nextInt(2);
+			categoryIds.add(others[first]);
+			if (roll < 0.05) {
+				categoryIds.add(others[1 - first]);
+			}
+		}
+		String name = switch ((int) primary) {
+		case 1 -> pick(random, BOOK_PREFIXES) + " " + pick(random, BOOK_TOPICS) + " Vol. " + random.nextInt(1, 6);
+		case 2 -> pick(random, ELECTRONICS) + " " + pick(random, ELECTRONICS_BRANDS) + " " + model(random);
+		default -> pick(random, COMPUTERS) + " " + pick(random, COMPUTER_BRANDS) + " " + model(random);
+		};
+		return new ProductRow(id, name, description(random), price(id), String.format(IMG_URL, (id - 1) % 25 + 1), categoryIds);
+	}
+
+	public UserRow user(long id) {
+		SplittableRandom random = random(USER, id);
+		long number = id - FIRST_USER_ID + 1;
+		String name = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+		String phone = "9" + random.nextInt(10_000_000, 100_000_000);
+		LocalDate birthDate = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(0, 56 * 365));
+		return new UserRow(id, name, "user" + number + "@gmail.com", phone, birthDate);
+	}
+
+	public OrderRow order(long id) {
+		SplittableRandom random = random(ORDER, id);
+		long clients = FIXTURE_CLIENTS.length + users;
+		// a few clients place most orders
+		long client = (long) (clients * Math.pow(random.nextDouble(), 2));
+		long clientId = client < FIXTURE_CLIENTS.length ? FIXTURE_CLIENTS[(int) client] : FIRST_USER_ID + client - FIXTURE_CLIENTS.length;
+		Instant moment = FIRST_MOMENT.plusSeconds(random.nextLong(MOMENT_RANGE_SECONDS));
+		double roll = random.nextDouble();
+		OrderStatus status = roll < 0.15 ? OrderStatus.WAITING_PAYMENT
+				: roll < 0.30 ? OrderStatus.PAID
+				: roll < 0.40 ? OrderStatus.SHIPPED
+				: roll < 0.90 ? OrderStatus.DELIVERED
+				: OrderStatus.CANCELED;
+		Instant paymentMoment = status == OrderStatus.WAITING_PAYMENT || status == OrderStatus.CANCELED ? null
+				: moment.plusSeconds(random.nextLong(300, 3 * 3600));
+
+		int count = 1;
+		while (count < 6 && random.nextBoolean()) {
+			count++;
+		}
+		List<ItemRow> items = new ArrayList<>(count);
+		List<Long> seen = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			// popularity falls off steeply with the id
+			long productId = FIRST_PRODUCT_ID + (long) (products * Math.pow(random.nextDouble(), 3));
+			if (seen.contains(productId)) {
+				continue;
+			}
+			seen.add(productId);
+			double q = random.nextDouble();
+			int quantity = q < 0.7 ? 1 : q < 0.9 ? 2 : random.nextInt(3, 6);
+			items.add(new ItemRow(productId, quantity, price(productId)));
+		}
+		return new OrderRow(id, moment, status, clientId, paymentMoment, items);
+	}
+
+	private long primaryCategory(long id) {
+		double roll = random(CATEGORY, id).nextDouble();
+		return roll < 0.2 ? 1 : roll < 0.5 ? 2 : 3;
+	}
+
+	/**
+	 * Log-normal around a typical price of the category, ending in .99 or
+	 * .90 like a shop's prices.
+	 */
+	private double price(long id) {
+		SplittableRandom random = random(PRICE, id);
+		long category = primaryCategory(id);
+		double median = category == 1 ? 60 : category == 2 ? 1200 : 1500;
+		double sigma = category == 1 ? 0.5 : 0.8;
+		double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+		long whole = Math.max(5, Math.min(50_000, Math.round(median * Math.exp(sigma * gaussian))));
+		return whole - (random.nextBoolean() ? 0.01 : 0.1);
+	}
+
+	private static String model(SplittableRandom random) {
+		return (char) ('A' + random.nextInt(26)) + String.valueOf(random.nextInt(100, 1000));
+	}
+
+	private static String description(SplittableRandom random) {
+		StringBuilder text = new StringBuilder(400);
+		int sentences = random.nextInt(1, 5);
+		for (int s = 0; s < sentences; s++) {
+			int words = random.nextInt(8, 26);
+			for (int w = 0; w < words; w++) {
+				String word = pick(random, LOREM);
+				if (w == 0) {
+					text.append(s == 0 ? "" : " ").append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+				}
+				else {
+					text.append(' ').append(word);
+				}
+			}
+			text.append('.');
+		}
+		return text.toString();
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private SplittableRandom random(int stream, long id) {
+		// splitmix64 finalizer, so neighbouring ids get unrelated sequences
+		long z = seed + stream * 0x632BE59BD9B4E019L + id * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return new SplittableRandom(z ^ (z >>> 31));
+	}
+
+	private <T> void stream(ExecutorService executor, long first, long count, LongFunction<T> row, Consumer<List<T>> sink) {
+		Deque<Future<List<T>>> window = new ArrayDeque<>();
+		int inFlight = 2 * parallelism;
+		for (long from = 0; from < count; from += CHUNK_SIZE) {
+			long start = first + from;
+			int size = (int) Math.min(CHUNK_SIZE, count - from);
+			window.add(executor.submit(() -> {
+				List<T> rows = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					rows.add(row.apply(start + i));
+				}
+				return rows;
+			}));
+			if (window.size() >= inFlight) {
+				sink.accept(take(window.poll()));
+			}
+		}
+		while (!window.isEmpty()) {
+			sink.accept(take(window.poll()));
+		}
+	}
+
+	private static <T> T take(Future<T> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while generating data", e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Data generation failed", e.getCause());
+		}
+	}
+
+}
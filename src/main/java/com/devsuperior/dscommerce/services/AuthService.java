@@ -0,0 +1,31 @@
+package com.devsuperior.dscommerce.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.security.AuthInterceptor;
+import com.devsuperior.dscommerce.services.exceptions.ForbiddenException;
+import com.devsuperior.dscommerce.services.exceptions.UnauthorizedException;
+
+@Service
+public class AuthService {
+
+	public User authenticated() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Object user = attributes == null ? null : attributes.getAttribute(AuthInterceptor.USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (user == null) {
+			throw new UnauthorizedException("Full authentication is required to access this resource");
+		}
+		return (User) user;
+	}
+
+	public void validateSelfOrAdmin(Long userId) {
+		User me = authenticated();
+		if (!me.hasRole("ROLE_ADMIN") && !me.getId().equals(userId)) {
+			throw new ForbiddenException("Access denied. Should be self or admin");
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.devsuperior.dscommerce.services;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.services.RepresentationCache.Representation;
+
+@Service
+public class CategoryService {
+
+	private final CategoryRepository repository;
+	private final RepresentationCache representations;
+
+	public CategoryService(CategoryRepository repository, RepresentationCache representations) {
+		this.repository = repository;
+		this.representations = representations;
+	}
+
+	public List<CategoryDTO> findAll() {
+		return repository.findAll().stream().map(CategoryDTO::new).toList();
+	}
+
+	public Representation findAllRepresentation() {
+		// the version is read before the list and saves bump it after writing,
+		// so a cached list is never older than its ETag
+		return representations.get(RepresentationCache.etag("categories", repository.version()), this::findAll);
+	}
+
+}
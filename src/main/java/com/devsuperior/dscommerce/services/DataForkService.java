@@ -0,0 +1,30 @@
+package com.devsuperior.dscommerce.services;
+
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.DataForkDTO;
+import com.devsuperior.dscommerce.repositories.DataForks;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.ServiceUnavailableException;
+
+@Service
+public class DataForkService {
+
+	private final DataForks forks;
+
+	public DataForkService(DataForks forks) {
+		this.forks = forks;
+	}
+
+	public DataForkDTO create() {
+		String fork = forks.fork().orElseThrow(() -> new ServiceUnavailableException("Limite de forks atingido"));
+		return new DataForkDTO(fork);
+	}
+
+	public void discard(String id) {
+		if (!forks.discard(id)) {
+			throw new ResourceNotFoundException("Recurso não encontrado");
+		}
+	}
+
+}
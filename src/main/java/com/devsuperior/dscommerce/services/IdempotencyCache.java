@@ -0,0 +1,129 @@
+package com.devsuperior.dscommerce.services;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.devsuperior.dscommerce.services.exceptions.ConflictException;
+import com.devsuperior.dscommerce.services.exceptions.ServiceUnavailableException;
+
+/**
+ * Results of non-idempotent operations by client-chosen key, so a retried
+ * request gets the first result instead of repeating the operation.
+ * 
+ * The first request with a key runs the operation; requests arriving while
+ * it runs wait for its result rather than running it again. A key sent with
+ * a different request fingerprint is a conflict. Failed operations are not
+ * kept, so a retry runs again. Entries expire after the time to live and the
+ * oldest are dropped beyond maxKeys; since every entry lives equally long,
+ * both happen at the head of one insertion-ordered queue. Entries still
+ * running are never dropped for room, as their duplicates would run again;
+ * a new key that finds maxKeys of them in flight is refused instead.
+ */
+public class IdempotencyCache<T> {
+
+	public record Outcome<T>(T result, boolean replayed) {
+	}
+
+	private record Entry<T>(String key, String fingerprint, long expiresAt, CompletableFuture<T> result) {
+	}
+
+	private final ConcurrentHashMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Entry<T>> insertionOrder = new ConcurrentLinkedQueue<>();
+	private final long ttlNanos;
+	private final int maxKeys;
+	private final LongSupplier nanoTime;
+
+	public IdempotencyCache(Duration ttl, int maxKeys) {
+		this(ttl, maxKeys, System::nanoTime);
+	}
+
+	IdempotencyCache(Duration ttl, int maxKeys, LongSupplier nanoTime) {
+		this.ttlNanos = ttl.toNanos();
+		this.maxKeys = maxKeys;
+		this.nanoTime = nanoTime;
+	}
+
+	public Outcome<T> execute(String key, String fingerprint, Supplier<T> operation) {
+		while (true) {
+			long now = nanoTime.getAsLong();
+			evict(now);
+			if (!entries.containsKey(key)) {
+				makeRoom();
+			}
+			Entry<T> fresh = new Entry<>(key, fingerprint, now + ttlNanos, new CompletableFuture<>());
+			Entry<T> existing = entries.putIfAbsent(key, fresh);
+			if (existing == null) {
+				insertionOrder.add(fresh);
+				return new Outcome<>(run(fresh, operation), false);
+			}
+			if (existing.expiresAt() - now <= 0) {
+				entries.remove(key, existing);
+				continue;
+			}
+			if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+				throw new ConflictException("Idempotency-Key já usada em outra requisição");
+			}
+			try {
+				return new Outcome<>(existing.result().join(), true);
+			}
+			catch (CompletionException e) {
+				if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw (RuntimeException) e.getCause();
+			}
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private T run(Entry<T> entry, Supplier<T> operation) {
+		try {
+			T result = operation.get();
+			entry.result().complete(result);
+			return result;
+		}
+		catch (RuntimeException | Error e) {
+			entries.remove(entry.key(), entry);
+			entry.result().completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private void evict(long now) {
+		Entry<T> oldest;
+		while ((oldest = insertionOrder.peek()) != null
+				&& (oldest.expiresAt() - now <= 0 || entries.get(oldest.key()) != oldest)) {
+			if (insertionOrder.remove(oldest)) {
+				entries.remove(oldest.key(), oldest);
+			}
+		}
+	}
+
+	private void makeRoom() {
+		while (entries.size() >= maxKeys) {
+			Entry<T> completed = null;
+			for (Entry<T> entry : insertionOrder) {
+				if (entry.result().isDone()) {
+					completed = entry;
+					break;
+				}
+			}
+			if (completed == null) {
+				throw new ServiceUnavailableException("Muitas requisições idempotentes em andamento");
+			}
+			if (insertionOrder.remove(completed)) {
+				entries.remove(completed.key(), completed);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.devsuperior.dscommerce.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderItemDTO;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.DataForks;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.IdempotencyCache.Outcome;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+
+@Service
+public class OrderService {
+
+	private final OrderRepository repository;
+	private final ProductRepository productRepository;
+	private final AuthService authService;
+	private final DataForks forks;
+	private final IdempotencyCache<OrderDTO> idempotentInserts;
+
+	public OrderService(OrderRepository repository, ProductRepository productRepository, AuthService authService, DataForks forks,
+			@Value("${orders.idempotency.ttl-seconds:86400}") long idempotencyTtlSeconds,
+			@Value("${orders.idempotency.max-keys:10000}") int idempotencyMaxKeys) {
+		this.repository = repository;
+		this.productRepository = productRepository;
+		this.authService = authService;
+		this.forks = forks;
+		this.idempotentInserts = new IdempotencyCache<>(Duration.ofSeconds(idempotencyTtlSeconds), idempotencyMaxKeys);
+	}
+
+	public OrderDTO findById(Long id) {
+		Order order = repository.findById(id).orElseThrow(
+				() -> new ResourceNotFoundException("Recurso não encontrado"));
+		authService.validateSelfOrAdmin(order.getClient().getId());
+		return new OrderDTO(order);
+	}
+
+	/**
+	 * Inserts the order once per idempotency key: a retry with the same key
+	 * and items, even one arriving while the first is running, gets the
+	 * first order back. Keys are scoped to the client and the data fork.
+	 */
+	public Outcome<OrderDTO> insert(OrderDTO dto, String idempotencyKey) {
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			return new Outcome<>(insert(dto), false);
+		}
+		User client = authService.authenticated();
+		String key = client.getId() + "@" + forks.current() + ":" + idempotencyKey;
+		String items = dto.getItems().stream()
+				.map(item -> item.getProductId() + "x" + item.getQuantity())
+				.collect(Collectors.joining(","));
+		return idempotentInserts.execute(key, items, () -> insert(dto));
+	}
+
+	private OrderDTO insert(OrderDTO dto) {
+		Order order = new Order();
+		order.setMoment(Instant.now());
+		order.setStatus(OrderStatus.WAITING_PAYMENT);
+		order.setClient(authService.authenticated());
+		for (OrderItemDTO itemDto : dto.getItems()) {
+			Product product = productRepository.findById(itemDto.getProductId()).orElseThrow(
+					() -> new ResourceNotFoundException("Recurso não encontrado"));
+			order.getItems().add(new OrderItem(product, itemDto.getQuantity(), product.getPrice()));
+		}
+		order = repository.save(order);
+		return new OrderDTO(order);
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.devsuperior.dscommerce.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.ItemError;
+import com.devsuperior.dscommerce.dto.PageDTO;
+import com.devsuperior.dscommerce.dto.ProductBatchDTO;
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.PageRequest;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.RepresentationCache.Representation;
+import com.devsuperior.dscommerce.services.exceptions.DatabaseException;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ProductService {
+
+	private final ProductRepository repository;
+	private final CategoryRepository categoryRepository;
+	private final OrderRepository orderRepository;
+	private final RepresentationCache representations;
+	private final Validator validator;
+
+	public ProductService(ProductRepository repository, CategoryRepository categoryRepository, OrderRepository orderRepository,
+			RepresentationCache representations, Validator validator) {
+		this.repository = repository;
+		this.categoryRepository = categoryRepository;
+		this.orderRepository = orderRepository;
+		this.representations = representations;
+		this.validator = validator;
+	}
+
+	public Representation findRepresentationById(Long id) {
+		Product product = find(id);
+		return representations.get(etag(product), () -> new ProductDTO(product));
+	}
+
+	public PageDTO<ProductDTO> findAll(String name, PageRequest pageRequest) {
+		return PageDTO.of(repository.searchByName(name, pageRequest), ProductDTO::new);
+	}
+
+	public ProductDTO insert(ProductDTO dto) {
+		Product entity = new Product();
+		copyDtoToEntity(dto, entity);
+		entity = repository.save(entity);
+		return new ProductDTO(entity);
+	}
+
+	/**
+	 * Validates every item with the rules of a single insert, then saves the
+	 * valid ones in one pass; invalid items are reported, not saved.
+	 */
+	public ProductBatchDTO insertAll(List<ProductDTO> dtos) {
+		ProductBatchDTO result = new ProductBatchDTO();
+		List<Product> entities = new ArrayList<>(dtos.size());
+		for (int i = 0; i < dtos.size(); i++) {
+			ItemError error = new ItemError(i);
+			Product entity = toValidEntity(dtos.get(i), error);
+			if (entity != null) {
+				entities.add(entity);
+			}
+			else {
+				result.getErrors().add(error);
+			}
+		}
+		for (Product entity : repository.saveAll(entities)) {
+			result.getProducts().add(new ProductDTO(entity));
+		}
+		return result;
+	}
+
+	public ProductDTO update(Long id, ProductDTO dto) {
+		Product old = find(id);
+		Product entity = new Product();
+		entity.setId(id);
+		copyDtoToEntity(dto, entity);
+		entity = repository.save(entity);
+		representations.evict(etag(old));
+		return new ProductDTO(entity);
+	}
+
+	public void delete(Long id) {
+		Product old = find(id);
+		if (orderRepository.existsByProductId(id)) {
+			throw new DatabaseException("Falha de integridade referencial");
+		}
+		repository.deleteById(id);
+		representations.evict(etag(old));
+	}
+
+	private Product toValidEntity(ProductDTO dto, ItemError error) {
+		if (dto == null) {
+			error.addError("", "Campo requerido");
+			return null;
+		}
+		validator.validate(dto).stream()
+				.sorted(Comparator.comparing((ConstraintViolation<ProductDTO> v) -> v.getPropertyPath().toString())
+						.thenComparing(ConstraintViolation::getMessage))
+				.forEach(v -> error.addError(v.getPropertyPath().toString(), v.getMessage()));
+		// an element without id would fail the category lookup with a 500 for the whole batch
+		List<CategoryDTO> categories = dto.getCategories();
+		for (int i = 0; categories != null && i < categories.size(); i++) {
+			if (categories.get(i) == null || categories.get(i).getId() == null) {
+				error.addError("categories[" + i + "]", "Campo requerido");
+			}
+		}
+		if (!error.getErrors().isEmpty()) {
+			return null;
+		}
+		Product entity = new Product();
+		try {
+			copyDtoToEntity(dto, entity);
+		}
+		catch (ResourceNotFoundException e) {
+			error.addError("categories", e.getMessage());
+			return null;
+		}
+		return entity;
+	}
+
+	private Product find(Long id) {
+		return repository.findById(id).orElseThrow(
+				() -> new ResourceNotFoundException("Recurso não encontrado"));
+	}
+
+	private static String etag(Product product) {
+		return RepresentationCache.etag("p" + product.getId(), product.getVersion());
+	}
+
+	private void copyDtoToEntity(ProductDTO dto, Product entity) {
+		entity.setName(dto.getName());
+		entity.setDescription(dto.getDescription());
+		entity.setPrice(dto.getPrice());
+		entity.setImgUrl(dto.getImgUrl());
+		entity.getCategories().clear();
+		for (CategoryDTO catDto : dto.getCategories()) {
+			Category cat = categoryRepository.findById(catDto.getId()).orElseThrow(
+					() -> new ResourceNotFoundException("Recurso não encontrado"));
+			entity.getCategories().add(cat);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.devsuperior.dscommerce.services;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialized JSON bodies of read-mostly resources, keyed by their strong
+ * ETag. An ETag is built from a version that changes on every write, so a
+ * cached body is never stale: writes evict the entry of the version they
+ * replace only to free it early. The cache is simply cleared when it reaches
+ * its bound.
+ */
+@Component
+public class RepresentationCache {
+
+	private static final int MAX_CACHED_BODIES = 10_000;
+
+	private final ObjectMapper mapper;
+	private final ConcurrentHashMap<String, Representation> bodies = new ConcurrentHashMap<>();
+
+	public RepresentationCache(ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	public static String etag(String resource, long version) {
+		return "\"" + resource + "-" + version + "\"";
+	}
+
+	/**
+	 * Cached representation for the ETag, serializing the DTO only on a miss.
+	 */
+	public Representation get(String etag, Supplier<?> dto) {
+		Representation representation = bodies.get(etag);
+		if (representation == null) {
+			representation = new Representation(etag, serialize(dto.get()));
+			if (bodies.size() >= MAX_CACHED_BODIES) {
+				bodies.clear();
+			}
+			bodies.put(etag, representation);
+		}
+		return representation;
+	}
+
+	public void evict(String etag) {
+		bodies.remove(etag);
+	}
+
+	private byte[] serialize(Object dto) {
+		try {
+			return mapper.writeValueAsBytes(dto);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public record Representation(String etag, byte[] body) {
+	}
+
+}
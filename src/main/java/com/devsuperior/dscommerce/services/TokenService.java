@@ -0,0 +1,59 @@
+package com.devsuperior.dscommerce.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.TokenDTO;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+import com.devsuperior.dscommerce.security.JwtTokenService;
+
+/**
+ * Password grant of the /oauth2/token endpoint.
+ */
+@Service
+public class TokenService {
+
+	private final UserRepository userRepository;
+	private final JwtTokenService tokenService;
+	private final PasswordEncoder passwordEncoder;
+	private final String clientCredentials;
+
+	public TokenService(UserRepository userRepository, JwtTokenService tokenService, PasswordEncoder passwordEncoder,
+			@Value("${security.client-id:myclientid}") String clientId,
+			@Value("${security.client-secret:myclientsecret}") String clientSecret) {
+		this.userRepository = userRepository;
+		this.tokenService = tokenService;
+		this.passwordEncoder = passwordEncoder;
+		this.clientCredentials = clientId + ":" + clientSecret;
+	}
+
+	public boolean isValidClient(String authorization) {
+		if (authorization == null || !authorization.startsWith("Basic ")) {
+			return false;
+		}
+		try {
+			byte[] decoded = Base64.getDecoder().decode(authorization.substring("Basic ".length()).trim());
+			return MessageDigest.isEqual(decoded, clientCredentials.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	public Optional<TokenDTO> passwordGrant(String username, String password) {
+		Optional<User> user = userRepository.findByEmail(username);
+		if (user.isEmpty() || password == null || !passwordEncoder.matches(password, user.get().getPassword())) {
+			return Optional.empty();
+		}
+		String token = tokenService.issue(user.get());
+		return Optional.of(new TokenDTO(token, tokenService.getDurationSeconds()));
+	}
+
+}
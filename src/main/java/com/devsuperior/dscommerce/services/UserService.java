@@ -0,0 +1,20 @@
+package com.devsuperior.dscommerce.services;
+
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.UserDTO;
+
+@Service
+public class UserService {
+
+	private final AuthService authService;
+
+	public UserService(AuthService authService) {
+		this.authService = authService;
+	}
+
+	public UserDTO getMe() {
+		return new UserDTO(authService.authenticated());
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class ResourceNotFoundException extends RuntimeException {
+
+	public ResourceNotFoundException(String msg) {
+		super(msg);
+	}
+
+}
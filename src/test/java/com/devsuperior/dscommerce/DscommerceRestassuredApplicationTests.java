@@ -1,8 +1,12 @@
 package com.devsuperior.dscommerce;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
 import org.springframework.boot.test.context.SpringBootTest;
 
+// Spring Boot's logging setup is not safe against a second context booting
+// concurrently (the RA suites start the stand-in server), so run alone.
+@Isolated
 @SpringBootTest
 class DscommerceRestassuredApplicationTests {
 
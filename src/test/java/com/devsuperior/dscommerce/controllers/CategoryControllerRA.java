@@ -2,26 +2,68 @@ package com.devsuperior.dscommerce.controllers;
 
 import static io.restassured.RestAssured.*;
 import static io.restassured.matcher.RestAssuredMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
+import static com.devsuperior.dscommerce.tests.SpecUtil.*;
+import static org.junit.jupiter.api.Assumptions.*;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.devsuperior.dscommerce.tests.ConditionalCache;
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+
 public class CategoryControllerRA {
 	
-	@BeforeEach
-	public void setup() {
-		baseURI = "http://localhost:8080";
-	}
-	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findAllShouldReturnListOfCategories() {
 		given()
+			.spec(anonymous())
 			.get("/categories")
 		.then()
+			.spec(jsonResponse())
 			.statusCode(200)
 			.body("id", hasItems(1, 2, 3))
 			.body("name", hasItems("Livros", "Eletrônicos", "Computadores"));
 	}
+	
+	@Test
+	@LatencyBudget(millis = 250)
+	public void findAllShouldReturnNotModifiedWhenETagMatches() {
+		String etag = given()
+			.spec(anonymous())
+			.get("/categories")
+		.then()
+			.statusCode(200)
+			.header("ETag", startsWith("\""))
+			.extract().header("ETag");
+		
+		given()
+			.spec(anonymous())
+			.header("If-None-Match", etag)
+			.get("/categories")
+		.then()
+			.statusCode(304)
+			.header("ETag", equalTo(etag))
+			.body(emptyString());
+	}
+	
+	@Test
+	public void findAllShouldReturnCachedCategoriesWhenRevalidated() {
+		assumeTrue(ConditionalCache.isEnabled(), "conditional cache is off while recording or replaying");
+		long before = ConditionalCache.instance().notModified();
+		
+		for (int i = 0; i < 20; i++) {
+			given()
+				.spec(revalidating())
+				.get("/categories")
+			.then()
+				.spec(jsonResponse())
+				.statusCode(200)
+				.body("name", hasItems("Livros", "Eletrônicos", "Computadores"));
+		}
+		
+		assertThat(ConditionalCache.instance().notModified() - before, greaterThanOrEqualTo(19L));
+	}
 
 }
@@ -0,0 +1,142 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static com.devsuperior.dscommerce.tests.SpecUtil.*;
+import static com.devsuperior.dscommerce.tests.Fixtures.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import com.devsuperior.dscommerce.tests.ForkedData;
+import com.devsuperior.dscommerce.tests.ForkedDataExtension;
+import com.devsuperior.dscommerce.tests.ForkedDataLocks;
+
+@ResourceLock(providers = ForkedDataLocks.class)
+public class DataForkControllerRA {
+	
+	private String fork, otherFork;
+	
+	@BeforeEach
+	private void setUp() {
+		fork = createFork();
+		otherFork = createFork();
+	}
+	
+	@AfterEach
+	private void tearDown() {
+		given().spec(anonymous()).delete("/forks/{id}", fork);
+		given().spec(anonymous()).delete("/forks/{id}", otherFork);
+	}
+	
+	@Test
+	public void deleteInForkShouldNotChangeMainDataOrOtherForks() {
+		
+		given()
+			.spec(admin())
+			.header(ForkedDataExtension.HEADER, fork)
+			.delete("/products/{id}", 24L)
+			.then()
+				.statusCode(204);
+		
+		given()
+			.spec(anonymous())
+			.header(ForkedDataExtension.HEADER, fork)
+			.get("/products/{id}", 24L)
+			.then()
+				.statusCode(404);
+		
+		given()
+			.spec(anonymous())
+			.header(ForkedDataExtension.HEADER, otherFork)
+			.get("/products/{id}", 24L)
+			.then()
+				.statusCode(200)
+				.body("name", equalTo("PC Gamer Boo"));
+		
+		given()
+			.spec(anonymous())
+			.get("/products/{id}", 24L)
+			.then()
+				.statusCode(200)
+				.body("name", equalTo("PC Gamer Boo"));
+	}
+	
+	@Test
+	public void insertInForkShouldContinueSeedSequenceIndependentlyOfOtherForks() {
+		
+		int id = given()
+			.spec(admin())
+			.header(ForkedDataExtension.HEADER, fork)
+			.body(POST_PRODUCT.bytes())
+			.post("/products")
+			.then()
+				.statusCode(201)
+				.body("id", greaterThan(25))
+				.extract().path("id");
+		
+		given()
+			.spec(admin())
+			.header(ForkedDataExtension.HEADER, otherFork)
+			.body(POST_PRODUCT.bytes())
+			.post("/products")
+			.then()
+				.statusCode(201)
+				.body("id", is(id));
+		
+		given()
+			.spec(anonymous())
+			.header(ForkedDataExtension.HEADER, fork)
+			.get("/products?name={name}", POST_PRODUCT.get("name"))
+			.then()
+				.statusCode(200)
+				.body("totalElements", is(1));
+	}
+	
+	@Test
+	public void discardShouldReturnNotFoundWhenForkWasAlreadyDiscarded() {
+		
+		given()
+			.spec(anonymous())
+			.delete("/forks/{id}", fork)
+			.then()
+				.statusCode(204);
+		
+		given()
+			.spec(anonymous())
+			.delete("/forks/{id}", fork)
+			.then()
+				.statusCode(404);
+		
+		given()
+			.spec(anonymous())
+			.header(ForkedDataExtension.HEADER, fork)
+			.get("/products/{id}", 1L)
+			.then()
+				.statusCode(404);
+	}
+	
+	@RepeatedTest(3)
+	@ForkedData
+	public void deleteShouldSucceedOnEveryRunWhenDataIsForked() {
+		
+		given()
+			.spec(admin())
+			.delete("/products/{id}", 23L)
+			.then()
+				.statusCode(204);
+	}
+	
+	private static String createFork() {
+		return given()
+			.spec(anonymous())
+			.post("/forks")
+			.then()
+				.statusCode(201)
+				.extract().jsonPath().getString("id");
+	}
+
+}
@@ -2,76 +2,51 @@ package com.devsuperior.dscommerce.controllers;
 
 import static io.restassured.RestAssured.*;
 import static io.restassured.matcher.RestAssuredMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
+import static com.devsuperior.dscommerce.tests.SpecUtil.*;
+import static com.devsuperior.dscommerce.tests.Fixtures.*;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
 
-import org.json.simple.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
-import com.devsuperior.dscommerce.tests.TokenUtil;
+import com.devsuperior.dscommerce.tests.Concurrently;
+import com.devsuperior.dscommerce.tests.ForkedData;
+import com.devsuperior.dscommerce.tests.ForkedDataLocks;
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+import com.devsuperior.dscommerce.tests.ValidationMatrix;
 
-import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 
+@ResourceLock(providers = ForkedDataLocks.class)
 public class OrderControllerRA {
 	
-	private String adminUsername, adminPassword, adminOnlyUsername, adminOnlyPassword, clientUsername, clientPassword;
-	private String adminToken, clientToken, adminOnlyToken, invalidToken;
-	
 	private Long existingId, nonExistingId, otherId;
 	
-	private Map<String, List<Map<String, Object>>> postOrderInstance;
-	
 	@BeforeEach
 	private void setUp() {
-		baseURI = "http://localhost:8080";
-		
 		existingId = 1L;
 		nonExistingId = 100L;
 		otherId = 2L;
-
-		adminUsername = "alex@gmail.com";
-		adminPassword = "123456";
-		adminOnlyUsername = "ana@gmail.com";
-		adminOnlyPassword = "123456";
-		clientUsername = "maria@gmail.com";
-		clientPassword = "123456";
-		
-		adminToken = TokenUtil.obtainAccessToken(adminUsername, adminPassword);
-		adminOnlyToken = TokenUtil.obtainAccessToken(adminOnlyUsername, adminOnlyPassword);
-		clientToken = TokenUtil.obtainAccessToken(clientUsername, clientPassword);
-		invalidToken = adminToken + "xpto";
-		
-		Map<String, Object> item1 = new HashMap<>();
-		item1.put("productId", 1);
-		item1.put("quantity", 2);
-		
-		Map<String, Object> item2 = new HashMap<>();
-		item2.put("productId", 5);
-		item2.put("quantity", 1);
-		
-		List<Map<String,Object>> itemInstances = new ArrayList<>();
-		itemInstances.add(item1);
-		itemInstances.add(item2);
-		
-		postOrderInstance = new HashMap<>();
-		postOrderInstance.put("items", itemInstances);
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnOrderWhenIdExistsAndAdminLogged() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.accept(ContentType.JSON)
+			.spec(admin())
 		.when()
 			.get("/orders/{id}", existingId)
 		.then()
+			.spec(jsonResponse())
 			.statusCode(200)
 				.body("id", is(1))
 				.body("moment", equalTo("2022-07-25T13:00:00Z"))
@@ -83,15 +58,15 @@ public class OrderControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnOrderWhenIdExistsAndClientLogged() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
-			.accept(ContentType.JSON)
+			.spec(client())
 		.when()
 			.get("/orders/{id}", existingId)
 		.then()
+			.spec(jsonResponse())
 			.statusCode(200)
 				.body("id", is(1))
 				.body("moment", equalTo("2022-07-25T13:00:00Z"))
@@ -103,12 +78,11 @@ public class OrderControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnForbiddenWhenIdExistsAndClientLoggedAndOrderDoesNotBelongUser() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
-			.accept(ContentType.JSON)
+			.spec(client())
 		.when()
 			.get("/orders/{id}", otherId)
 		.then()
@@ -117,12 +91,11 @@ public class OrderControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnNotFoundWhenIdDoesNotExistAndAdminLogged() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.accept(ContentType.JSON)
+			.spec(admin())
 		.when()
 			.get("/orders/{id}", nonExistingId)
 		.then()
@@ -131,12 +104,11 @@ public class OrderControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnNotFoundWhenIdDoesNotExistAndClientLogged() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
-			.accept(ContentType.JSON)
+			.spec(client())
 		.when()
 			.get("/orders/{id}", nonExistingId)
 		.then()
@@ -145,12 +117,11 @@ public class OrderControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnUnauthorizedWhenInvalidToken() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + invalidToken)
-			.accept(ContentType.JSON)
+			.spec(invalidToken())
 		.when()
 			.get("/orders/{id}", existingId)
 		.then()
@@ -158,19 +129,18 @@ public class OrderControllerRA {
 	}
 	
 	@Test
+	@ForkedData
 	public void insertShouldReturnOrderCreatedWhenClientLogged() {
 		
-		JSONObject newOrder = new JSONObject(postOrderInstance);
+		byte[] newOrder = POST_ORDER.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(client())
 			.body(newOrder)
 		.when()
 			.post("/orders")
 		.then()
+			.spec(jsonResponse())
 			.statusCode(201)
 			.body("status", equalTo("WAITING_PAYMENT"))
 			.body("client.name", equalTo("Maria Brown"))
@@ -179,34 +149,85 @@ public class OrderControllerRA {
 	}
 
 	@Test
-	public void insertShouldReturnUnprocessableEntityWhenClientLoggedAndOrderHasNoItem() {
-		postOrderInstance.put("items", null);
+	@ForkedData
+	public void insertShouldCreateOneOrderWhenSameIdempotencyKeyIsSentConcurrently() throws Exception {
+		String idempotencyKey = UUID.randomUUID().toString();
+		byte[] newOrder = POST_ORDER.bytes();
+		
+		List<Response> responses = Concurrently.run(16, () -> given()
+			.spec(client())
+			.header("Idempotency-Key", idempotencyKey)
+			.body(newOrder)
+		.when()
+			.post("/orders"));
+		
+		Integer id = responses.get(0).path("id");
+		for (Response response : responses) {
+			response.then()
+				.statusCode(201)
+				.header("Location", endsWith("/orders/" + id))
+				.body("id", is(id))
+				.body("client.name", equalTo("Maria Brown"))
+				.body("total", is(281.99F));
+		}
+		assertThat(responses.stream().filter(response -> response.header("Idempotent-Replayed") == null).count(), is(1L));
+		
+		// ids are sequential within the fork: the next order proves no duplicate was created
+		given()
+			.spec(client())
+			.body(newOrder)
+		.when()
+			.post("/orders")
+		.then()
+			.statusCode(201)
+			.body("id", is(id + 1));
+	}
+	
+	@Test
+	@ForkedData
+	public void insertShouldReturnConflictWhenIdempotencyKeyIsReusedWithOtherItems() {
+		String idempotencyKey = UUID.randomUUID().toString();
 		
-		JSONObject newOrder = new JSONObject(postOrderInstance);
+		given()
+			.spec(client())
+			.header("Idempotency-Key", idempotencyKey)
+			.body(POST_ORDER.bytes())
+		.when()
+			.post("/orders")
+		.then()
+			.statusCode(201);
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
-			.body(newOrder)
+			.spec(client())
+			.header("Idempotency-Key", idempotencyKey)
+			.body(POST_ORDER.with("items", List.of(map("productId", 2, "quantity", 1))).bytes())
 		.when()
 			.post("/orders")
 		.then()
-			.statusCode(422)
-			.body("errors.message[0]", equalTo("Deve ter pelo menos um item"));
+			.statusCode(409)
+			.body("error", equalTo("Idempotency-Key já usada em outra requisição"));
+	}
+	
+	@TestFactory
+	@ForkedData
+	public Stream<DynamicTest> insertShouldValidateOrderItemsWhenClientLogged() {
+		String noItem = "Deve ter pelo menos um item";
+		
+		return ValidationMatrix.as(client())
+			.post("/orders", POST_ORDER)
+			.rejects("items", null, noItem)
+			.rejects("items", List.of(), noItem)
+			.accepts("items", List.of(map("productId", 1, "quantity", 1)))
+			.tests();
 	}
 	
 	@Test
 	public void insertShouldReturnForbiddenWhenAdminLogged() {
 		
-		JSONObject newOrder = new JSONObject(postOrderInstance);
+		byte[] newOrder = POST_ORDER.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminOnlyToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(adminOnly())
 			.body(newOrder)
 		.when()
 			.post("/orders")
@@ -217,13 +238,10 @@ public class OrderControllerRA {
 	@Test
 	public void insertShouldReturnUnauthorizedWhenInvalidToken() {
 		
-		JSONObject newOrder = new JSONObject(postOrderInstance);
+		byte[] newOrder = POST_ORDER.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + invalidToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(invalidToken())
 			.body(newOrder)
 		.when()
 			.post("/orders")
@@ -2,81 +2,57 @@ package com.devsuperior.dscommerce.controllers;
 
 import static io.restassured.RestAssured.*;
 import static io.restassured.matcher.RestAssuredMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
+import static com.devsuperior.dscommerce.tests.SpecUtil.*;
+import static com.devsuperior.dscommerce.tests.Fixtures.*;
+import static com.devsuperior.dscommerce.tests.JsonStreamMatchers.each;
+import static org.junit.jupiter.api.Assumptions.*;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-import org.json.simple.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
-import com.devsuperior.dscommerce.tests.TokenUtil;
+import com.devsuperior.dscommerce.tests.ConditionalCache;
+import com.devsuperior.dscommerce.tests.ForkedData;
+import com.devsuperior.dscommerce.tests.ForkedDataLocks;
+import com.devsuperior.dscommerce.tests.JsonPayload;
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+import com.devsuperior.dscommerce.tests.JsonStreamMatchers;
+import com.devsuperior.dscommerce.tests.ValidationMatrix;
 
-import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 
+@ResourceLock(providers = ForkedDataLocks.class)
 public class ProductControllerRA {
 	
-	private String adminUsername, adminPassword, clientUsername, clientPassword;
-	private String adminToken, clientToken, invalidToken;
-	
 	private Long existingId, nonExistingId, dependentId;
 	private String productName;
 	
-	private Map<String, Object> postProductInstance;
-	private Map<String, Object> putProductInstance;
-	
 	@BeforeEach
 	private void setUp() {
-		baseURI = "http://localhost:8080"; //endereço da api que eu quero testar os endpoints, seria o projeto dscommerce-jacoco-tests
-
-		adminUsername = "alex@gmail.com";
-		adminPassword = "123456";
-		clientUsername = "maria@gmail.com";
-		clientPassword = "123456";
-		
-		adminToken = TokenUtil.obtainAccessToken(adminUsername, adminPassword);
-		clientToken = TokenUtil.obtainAccessToken(clientUsername, clientPassword);
-		invalidToken = adminToken + "xpto";
-		
 		productName = "Macbook";
-		
-		postProductInstance = new HashMap<>();
-		postProductInstance.put("name", "Meu produto novo");
-		postProductInstance.put("description", "Lorem ipsum, dolor sit amet consectetur adipisicing elit. Qui ad, adipisci illum ipsam velit et odit eaque reprehenderit ex maxime delectus dolore labore, quisquam quae tempora natus esse aliquam veniam doloremque quam minima culpa alias maiores commodi. Perferendis enim");
-		postProductInstance.put("imgUrl", "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg");
-		postProductInstance.put("price", 50.0);
-		
-		putProductInstance = new HashMap<>();
-		putProductInstance.put("name", "Produto atualizado");
-		putProductInstance.put("description", "Lorem ipsum, dolor sit amet consectetur adipisicing elit. Qui ad, adipisci illum ipsam velit et odit eaque reprehenderit ex maxime delectus dolore labore, quisquam quae tempora natus esse aliquam veniam doloremque quam minima culpa alias maiores commodi. Perferendis enim");
-		putProductInstance.put("imgUrl", "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg");
-		putProductInstance.put("price", 200.0);
-		
-		List<Map<String, Object>> categories = new ArrayList<>();
-		
-		Map<String, Object> category1 = new HashMap<>();
-		category1.put("id", 2);
-		
-		Map<String, Object> category2 = new HashMap<>();
-		category2.put("id", 3);
-		
-		categories.add(category1);
-		categories.add(category2);
-		
-		postProductInstance.put("categories", categories);
-		putProductInstance.put("categories", categories);
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnProductDTOWhenIdExists() {
 		existingId = 2L;
 		
 		given()
+			.spec(anonymous())
 			.get("/products/{id}", existingId)
 			.then()
+				.spec(jsonResponse())
 				.statusCode(200)
 				.body("id", is(2))
 				.body("name", equalTo("Smart TV"))
@@ -87,10 +63,12 @@ public class ProductControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() {
 		nonExistingId = 100L;
 		
 		given()
+			.spec(anonymous())
 			.get("/products/{id}", nonExistingId)
 			.then()
 				.statusCode(404)
@@ -98,21 +76,154 @@ public class ProductControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
+	public void findByIdShouldReturnNotModifiedWhenETagMatches() {
+		existingId = 2L;
+		
+		String etag = given()
+			.spec(anonymous())
+			.get("/products/{id}", existingId)
+			.then()
+				.statusCode(200)
+				.header("ETag", startsWith("\""))
+				.extract().header("ETag");
+		
+		given()
+			.spec(anonymous())
+			.header("If-None-Match", etag)
+			.get("/products/{id}", existingId)
+			.then()
+				.statusCode(304)
+				.header("ETag", equalTo(etag))
+				.body(emptyString());
+	}
+	
+	@Test
+	public void findByIdShouldReturnCachedProductWhenRevalidated() {
+		assumeTrue(ConditionalCache.isEnabled(), "conditional cache is off while recording or replaying");
+		long before = ConditionalCache.instance().notModified();
+		existingId = 2L;
+		
+		for (int i = 0; i < 20; i++) {
+			given()
+				.spec(revalidating())
+				.get("/products/{id}", existingId)
+				.then()
+					.spec(jsonResponse())
+					.statusCode(200)
+					.body("id", is(2))
+					.body("name", equalTo("Smart TV"));
+		}
+		
+		assertThat(ConditionalCache.instance().notModified() - before, greaterThanOrEqualTo(19L));
+	}
+	
+	@Test
+	@ForkedData
+	public void findByIdShouldReturnNewETagWhenAdminLoggedWritesProduct() {
+		// a product of its own, so the test also repeats on shared data
+		existingId = given()
+			.spec(admin())
+			.body(POST_PRODUCT.bytes())
+			.post("/products")
+			.then()
+				.statusCode(201)
+				.extract().jsonPath().getLong("id");
+		
+		String etag = given()
+			.spec(admin())
+			.get("/products/{id}", existingId)
+			.then()
+				.statusCode(200)
+				.extract().header("ETag");
+		
+		given()
+			.spec(admin())
+			.body(PUT_PRODUCT.bytes())
+			.put("/products/{id}", existingId)
+			.then()
+				.statusCode(200);
+		
+		String updatedEtag = given()
+			.spec(admin())
+			.header("If-None-Match", etag)
+			.get("/products/{id}", existingId)
+			.then()
+				.statusCode(200)
+				.header("ETag", not(equalTo(etag)))
+				.body("name", equalTo("Produto atualizado"))
+				.extract().header("ETag");
+		
+		given()
+			.spec(admin())
+			.delete("/products/{id}", existingId)
+			.then()
+				.statusCode(204);
+		
+		given()
+			.spec(admin())
+			.header("If-None-Match", updatedEtag)
+			.get("/products/{id}", existingId)
+			.then()
+				.statusCode(404);
+	}
+	
+	@Test
+	@LatencyBudget(millis = 250)
 	public void findAllShouldReturnPageProductsWhenProductNameIsEmpty() {
 		
 		given()
+			.spec(anonymous())
 			.get("/products")
 			.then()
+				.spec(jsonResponse())
 				.statusCode(200)
 				.body("content.name", hasItems("Macbook Pro", "PC Gamer Tera"));
 	}
 	
 	@Test
+	public void findAllShouldClampPageAndSizeWhenOutOfRange() {
+		
+		given()
+			.spec(anonymous())
+			.get("/products?page=-1&size=0")
+			.then()
+				.statusCode(200)
+				.body("number", is(0))
+				.body("size", is(20));
+	}
+	
+	@Test
+	public void findAllShouldCompressOnlyPagesAboveThresholdWhenClientAcceptsGzip() {
+		
+		given()
+			.spec(anonymous())
+			.header("Accept-Encoding", "gzip")
+			.get("/products?size=20")
+			.then()
+				.statusCode(200)
+				.header("Content-Encoding", equalTo("gzip"))
+				.body("content", hasSize(20));
+		
+		given()
+			.spec(anonymous())
+			.header("Accept-Encoding", "gzip")
+			.get("/products?size=1")
+			.then()
+				.statusCode(200)
+				.header("Content-Encoding", nullValue())
+				.body("content", hasSize(1));
+	}
+	
+	@Test
+	@LatencyBudget(millis = 250)
 	public void findAllShouldReturnPageProductsWhenProductNameIsNotEmpty() {
 		
 		given()
+			.spec(anonymous())
 			.get("/products?name={productName}", productName)
 			.then()
+				.spec(jsonResponse())
 				.statusCode(200)
 				.body("content.id[0]", is(3))
 				.body("content.name[0]", equalTo("Macbook Pro"))
@@ -121,140 +232,258 @@ public class ProductControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void findAllShouldReturnPageProductsWhenProductPriceIsGreaterThen2000() {
 		
 		given()
+			.spec(anonymous())
 			.get("/products")
 			.then()
+				.spec(jsonResponse())
 				.statusCode(200)
-				.body("content.findAll { it.price > 2000 }.name ", hasItems("Smart TV", "PC Gamer Weed"));
+				.body(each("content").where("price", JsonStreamMatchers.greaterThan(2000)).values("name", hasItems("Smart TV", "PC Gamer Weed")));
 	}
 	
 	@Test
-	public void insertShouldReturnProductCreatedWhenAdminLogged() {
-		JSONObject newProduct = new JSONObject(postProductInstance);
+	@ForkedData
+	public void findAllShouldSortWholeCatalogBeforePagingWhenSortIsGiven() {
+		// expected orders come from the catalog itself, seeded or generated
+		int total = given()
+			.spec(anonymous())
+			.get("/products?size=1")
+			.then()
+				.statusCode(200)
+				.extract().path("totalElements");
+		JsonPath catalog = given()
+			.spec(anonymous())
+			.get("/products?size={size}", total)
+			.then()
+				.statusCode(200)
+				.body("content", hasSize(total))
+				.extract().jsonPath();
+		List<Integer> ids = catalog.getList("content.id", Integer.class);
+		List<Float> prices = catalog.getList("content.price", Float.class);
+		List<Integer> byIdDesc = ids.stream().sorted(Comparator.reverseOrder()).toList();
+		List<Integer> byPriceDesc = IntStream.range(0, total).boxed()
+				.sorted(Comparator.<Integer, Float>comparing(prices::get).thenComparing(ids::get).reversed())
+				.map(ids::get)
+				.toList();
+		assertThat(ids, equalTo(ids.stream().sorted().toList()));
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(anonymous())
+			.get("/products?page=1&size=5&sort=id,desc")
+			.then()
+				.statusCode(200)
+				.body("totalElements", is(total))
+				.body("content.id", equalTo(page(byIdDesc, 1, 5)));
+		
+		int lastPage = (total - 1) / 10;
+		for (int page : new TreeSet<>(List.of(0, Math.min(1, lastPage), Math.min(2, lastPage), lastPage))) {
+			given()
+				.spec(anonymous())
+				.get("/products?page={page}&size=10&sort=price,desc", page)
+				.then()
+					.statusCode(200)
+					.body("totalElements", is(total))
+					.body("content.id", equalTo(page(byPriceDesc, page, 10)));
+		}
+	}
+	
+	private static List<Integer> page(List<Integer> ids, int page, int size) {
+		return ids.subList(Math.min(page * size, ids.size()), Math.min((page + 1) * size, ids.size()));
+	}
+	
+	@Test
+	@ForkedData
+	public void findAllShouldFollowNameChangesWhenAdminLoggedWritesProducts() {
+		int id = given()
+			.spec(admin())
+			.body(POST_PRODUCT.with("name", "Teclado Mecânico Qwertz").bytes())
 				.when()
 					.post("/products")
 						.then()
 							.statusCode(201)
-							.body("name", equalTo("Meu produto novo"))
-							.body("price", is(50.0F))
-							.body("imgUrl", equalTo("https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg"))
-							.body("categories.id", hasItems(2, 3));
-	}
-	
-	@Test
-	public void insertShouldReturnUnprocessableEntityWhenAdminLoggedAndInvalidName() {
-		postProductInstance.put("name", "Me");
+							.extract().path("id");
 		
-		JSONObject newProduct = new JSONObject(postProductInstance);
+		given()
+			.spec(anonymous())
+			.get("/products?name={productName}", "mecânico qwe")
+			.then()
+				.statusCode(200)
+				.body("totalElements", is(1))
+				.body("content.id", contains(id));
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(admin())
+			.body(PUT_PRODUCT.bytes())
 				.when()
-					.post("/products")
+					.put("/products/{id}", id)
 						.then()
-							.statusCode(422)
-							.body("errors.message[0]", equalTo("Nome precisar ter de 3 a 80 caracteres"));
-	}
-	
-	@Test
-	public void insertShouldReturnUnprocessableEntityWhenAdminLoggedAndInvalidDescription() {
-		postProductInstance.put("description", "Lorem");
+							.statusCode(200);
 		
-		JSONObject newProduct = new JSONObject(postProductInstance);
+		given()
+			.spec(anonymous())
+			.get("/products?name={productName}", "Qwertz")
+			.then()
+				.statusCode(200)
+				.body("totalElements", is(0));
+		given()
+			.spec(anonymous())
+			.get("/products?name={productName}", "ATUALIZADO")
+			.then()
+				.statusCode(200)
+				.body("content.id", hasItem(id));
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(admin())
 				.when()
-					.post("/products")
+					.delete("/products/{id}", id)
 						.then()
-							.statusCode(422)
-							.body("errors.message[0]", equalTo("Descrição precisa ter no mínimo 10 caracteres"));
+							.statusCode(204);
+		
+		given()
+			.spec(anonymous())
+			.get("/products?name={productName}", "ATUALIZADO")
+			.then()
+				.statusCode(200)
+				.body("content.id", not(hasItem(id)));
 	}
 	
 	@Test
-	public void insertShouldReturnUnprocessableEntityWhenAdminLoggedAndPriceIsNegative() {
-		postProductInstance.put("price", -50.0);
-		
-		JSONObject newProduct = new JSONObject(postProductInstance);
+	@ForkedData
+	public void insertShouldReturnProductCreatedWhenAdminLogged() {
+		byte[] newProduct = POST_PRODUCT.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
+			.spec(admin())
 			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
 				.when()
 					.post("/products")
 						.then()
-							.statusCode(422)
-							.body("errors.message[0]", equalTo("O preço deve ser positivo"));
+							.spec(jsonResponse())
+							.statusCode(201)
+							.body("name", equalTo("Meu produto novo"))
+							.body("price", is(50.0F))
+							.body("imgUrl", equalTo("https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg"))
+							.body("categories.id", hasItems(2, 3));
+	}
+	
+	@TestFactory
+	@ForkedData
+	public Stream<DynamicTest> insertAndUpdateShouldValidateProductFieldsWhenAdminLogged() {
+		String nameSize = "Nome precisar ter de 3 a 80 caracteres";
+		String descriptionSize = "Descrição precisa ter no mínimo 10 caracteres";
+		String positivePrice = "O preço deve ser positivo";
+		String noCategory = "Deve ter pelo menos uma categoria";
+		String required = "Campo requerido";
+		
+		return ValidationMatrix.as(admin())
+			.post("/products", POST_PRODUCT)
+			.put("/products/10", PUT_PRODUCT)
+			.rejects("name", null, required)
+			.rejects("name", "   ", required)
+			.rejects("name", "Me", nameSize)
+			.accepts("name", "Mes")
+			.accepts("name", "x".repeat(80))
+			.rejects("name", "x".repeat(81), nameSize)
+			.rejects("description", null, required)
+			.rejects("description", "Lorem", descriptionSize)
+			.rejects("description", "x".repeat(9), descriptionSize)
+			.accepts("description", "x".repeat(10))
+			.rejects("price", null, required)
+			.rejects("price", -50.0, positivePrice)
+			.rejects("price", -0.01, positivePrice)
+			.rejects("price", 0.0, positivePrice)
+			.accepts("price", 0.01)
+			.rejects("categories", null, noCategory)
+			.rejects("categories", List.of(), noCategory)
+			.accepts("categories", List.of(map("id", 1)))
+			.accepts("categories", List.of(map("id", 1), map("id", 2), map("id", 3)))
+			.tests();
 	}
 	
 	@Test
-	public void insertShouldReturnUnprocessableEntityWhenAdminLoggedAndPriceIsZero() {
-		postProductInstance.put("price", 0.0);
+	@ForkedData
+	public void insertAllShouldCreateValidAndReportInvalidItemsWhenAdminLogged() {
+		byte[] batch = JsonPayload.array(List.of(
+				POST_PRODUCT,
+				POST_PRODUCT.with("name", "Me"),
+				POST_PRODUCT.with("price", -50.0),
+				POST_PRODUCT.with("categories", List.of()),
+				PUT_PRODUCT));
+		
+		Integer id = given()
+			.spec(admin())
+			.body(batch)
+				.when()
+					.post("/products/batch")
+						.then()
+							.spec(jsonResponse())
+							.statusCode(200)
+							.body("created", is(2))
+							.body("rejected", is(3))
+							.body("products.name", contains("Meu produto novo", "Produto atualizado"))
+							.body("errors.index", contains(1, 2, 3))
+							.body("errors[0].errors.fieldName", contains("name"))
+							.body("errors[0].errors.message", contains("Nome precisar ter de 3 a 80 caracteres"))
+							.body("errors[1].errors.message", contains("O preço deve ser positivo"))
+							.body("errors[2].errors.message", contains("Deve ter pelo menos uma categoria"))
+							.extract().path("products[1].id");
 		
-		JSONObject newProduct = new JSONObject(postProductInstance);
+		given()
+			.spec(admin())
+			.get("/products/{id}", id)
+			.then()
+				.statusCode(200)
+				.body("name", equalTo("Produto atualizado"));
+	}
+	
+	@Test
+	@ForkedData
+	public void insertAllShouldReportEveryItemWhenNoneIsValid() {
+		byte[] batch = JsonPayload.array(List.of(
+				POST_PRODUCT.with("categories", List.of(map("id", 100))),
+				POST_PRODUCT.with("name", null).with("price", 0.0),
+				POST_PRODUCT.with("categories", Arrays.asList(map("id", 1), null))));
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(admin())
+			.body(batch)
 				.when()
-					.post("/products")
+					.post("/products/batch")
 						.then()
-							.statusCode(422)
-							.body("errors.message[0]", equalTo("O preço deve ser positivo"));
+							.statusCode(200)
+							.body("created", is(0))
+							.body("products", empty())
+							.body("errors.index", contains(0, 1, 2))
+							.body("errors[0].errors.fieldName", contains("categories"))
+							.body("errors[0].errors.message", contains("Recurso não encontrado"))
+							.body("errors[1].errors.fieldName", contains("name", "price"))
+							.body("errors[1].errors.message", contains("Campo requerido", "O preço deve ser positivo"))
+							.body("errors[2].errors.fieldName", contains("categories[1]"))
+							.body("errors[2].errors.message", contains("Campo requerido"));
 	}
 	
 	@Test
-	public void insertShouldReturnUnprocessableEntityWhenAdminLoggedAndProductHasNoCategory() {
-		postProductInstance.put("categories", null);
-		
-		JSONObject newProduct = new JSONObject(postProductInstance);
+	public void insertAllShouldReturnForbiddenWhenClientLogged() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(client())
+			.body(JsonPayload.array(List.of(POST_PRODUCT)))
 				.when()
-					.post("/products")
+					.post("/products/batch")
 						.then()
-							.statusCode(422)
-							.body("errors.message[0]", equalTo("Deve ter pelo menos uma categoria"));
+							.statusCode(403);
 	}
 	
 	@Test
 	public void insertShouldReturnForbiddenWhenClientLogged() {
-		JSONObject newProduct = new JSONObject(postProductInstance);
+		byte[] newProduct = POST_PRODUCT.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
+			.spec(client())
 			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
 				.when()
 					.post("/products")
 						.then()
@@ -263,14 +492,11 @@ public class ProductControllerRA {
 	
 	@Test
 	public void insertShouldReturnUnauthorizedWhenInvalidToken() {
-		JSONObject newProduct = new JSONObject(postProductInstance);
+		byte[] newProduct = POST_PRODUCT.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + invalidToken)
+			.spec(invalidToken())
 			.body(newProduct)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
 				.when()
 					.post("/products")
 						.then()
@@ -278,20 +504,19 @@ public class ProductControllerRA {
 	}
 	
 	@Test
+	@ForkedData
 	public void updateShouldReturnProductWhenIdExistsAndAdminLogged() {
 		existingId = 10L;
 		
-		JSONObject newProduct = new JSONObject(putProductInstance);
+		byte[] newProduct = PUT_PRODUCT.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(admin())
 			.body(newProduct)
 				.when()
 					.put("/products/{id}", existingId)
 						.then()
+							.spec(jsonResponse())
 							.statusCode(200)
 							.body("name", equalTo("Produto atualizado"))
 							.body("price", is(200.0f))
@@ -304,13 +529,10 @@ public class ProductControllerRA {
 	public void updateShouldReturnNotFoundWhenIdDoesNotExistAndAdminLogged() {
 		nonExistingId = 100L;
 		
-		JSONObject newProduct = new JSONObject(putProductInstance);
+		byte[] newProduct = PUT_PRODUCT.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(admin())
 			.body(newProduct)
 				.when()
 					.put("/products/{id}", nonExistingId)
@@ -320,127 +542,14 @@ public class ProductControllerRA {
 							.body("error", equalTo("Recurso não encontrado"));
 	}
 	
-	@Test
-	public void updateShouldReturnUnprocessableEntityWhenIdExistsAndAdminLoggedAndInvalidName() {
-		putProductInstance.put("name", "Pr");
-		
-		existingId = 10L;
-		
-		JSONObject newProduct = new JSONObject(putProductInstance);
-		
-		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
-			.body(newProduct)
-				.when()
-					.put("/products/{id}", existingId)
-						.then()
-							.statusCode(422)
-							.body("status", equalTo(422))
-							.body("errors.message[0]", equalTo("Nome precisar ter de 3 a 80 caracteres"));
-	}
-	
-	@Test
-	public void updateShouldReturnUnprocessableEntityWhenIdExistsAndAdminLoggedAndInvalidDescription() {
-		putProductInstance.put("description", "Lorem");
-		
-		existingId = 10L;
-		
-		JSONObject newProduct = new JSONObject(putProductInstance);
-		
-		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
-			.body(newProduct)
-				.when()
-					.put("/products/{id}", existingId)
-						.then()
-							.statusCode(422)
-							.body("status", equalTo(422))
-							.body("errors.message[0]", equalTo("Descrição precisa ter no mínimo 10 caracteres"));
-	}
-	
-	@Test
-	public void updateShouldReturnUnprocessableEntityWhenIdExistsAndAdminLoggedAndPriceIsNegative() {
-		putProductInstance.put("price", -200.0);
-		
-		existingId = 10L;
-		
-		JSONObject newProduct = new JSONObject(putProductInstance);
-		
-		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
-			.body(newProduct)
-				.when()
-					.put("/products/{id}", existingId)
-						.then()
-							.statusCode(422)
-							.body("status", equalTo(422))
-							.body("errors.message[0]", equalTo("O preço deve ser positivo"));
-	}
-	
-	@Test
-	public void updateShouldReturnUnprocessableEntityWhenIdExistsAndAdminLoggedAndPriceIsZero() {
-		putProductInstance.put("price", 0.0);
-		
-		existingId = 10L;
-		
-		JSONObject newProduct = new JSONObject(putProductInstance);
-		
-		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
-			.body(newProduct)
-				.when()
-					.put("/products/{id}", existingId)
-						.then()
-							.statusCode(422)
-							.body("status", equalTo(422))
-							.body("errors.message[0]", equalTo("O preço deve ser positivo"));
-	}
-	
-	@Test
-	public void updateShouldReturnUnprocessableEntityWhenIdExistsAndAdminLoggedAndProductHasNoCategory() {
-		putProductInstance.put("categories", null);
-		
-		existingId = 10L;
-		
-		JSONObject newProduct = new JSONObject(putProductInstance);
-		
-		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
-			.body(newProduct)
-				.when()
-					.put("/products/{id}", existingId)
-						.then()
-							.statusCode(422)
-							.body("status", equalTo(422))
-							.body("errors.message[0]", equalTo("Deve ter pelo menos uma categoria"));
-	}
-	
 	@Test
 	public void updateShouldReturnForbiddenWhenIdExistsAndClientLogged() {
 		existingId = 10L;
 		
-		JSONObject newProduct = new JSONObject(putProductInstance);
+		byte[] newProduct = PUT_PRODUCT.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(client())
 			.body(newProduct)
 				.when()
 					.put("/products/{id}", existingId)
@@ -452,13 +561,10 @@ public class ProductControllerRA {
 	public void updateShouldReturnUnauthorizedWhenIdExistsAndInvalidToken() {
 		existingId = 10L;
 		
-		JSONObject newProduct = new JSONObject(putProductInstance);
+		byte[] newProduct = PUT_PRODUCT.bytes();
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + invalidToken)
-			.contentType(ContentType.JSON)
-			.accept(ContentType.JSON)
+			.spec(invalidToken())
 			.body(newProduct)
 				.when()
 					.put("/products/{id}", existingId)
@@ -467,11 +573,12 @@ public class ProductControllerRA {
 	}
 	
 	@Test
+	@ForkedData
 	public void deleteShouldReturnNoContentWhenAdminLogged() {
 		existingId = 25L;
 		
 		given()
-			.header("Authorization", "Bearer " + adminToken)
+			.spec(admin())
 				.when()
 					.delete("/products/{id}", existingId)
 						.then()
@@ -483,7 +590,7 @@ public class ProductControllerRA {
 		nonExistingId = 100L;
 		
 		given()
-			.header("Authorization", "Bearer " + adminToken)
+			.spec(admin())
 				.when()
 					.delete("/products/{id}", nonExistingId)
 						.then()
@@ -497,7 +604,7 @@ public class ProductControllerRA {
 		dependentId = 3L;
 		
 		given()
-			.header("Authorization", "Bearer " + adminToken)
+			.spec(admin())
 				.when()
 					.delete("/products/{id}", dependentId)
 						.then()
@@ -511,7 +618,7 @@ public class ProductControllerRA {
 		existingId = 24L;
 		
 		given()
-			.header("Authorization", "Bearer " + clientToken)
+			.spec(client())
 				.when()
 					.delete("/products/{id}", existingId)
 						.then()
@@ -523,7 +630,7 @@ public class ProductControllerRA {
 		existingId = 24L;
 		
 		given()
-			.header("Authorization", "Bearer " + invalidToken)
+			.spec(invalidToken())
 				.when()
 					.delete("/products/{id}", existingId)
 						.then()
@@ -3,44 +3,26 @@ package com.devsuperior.dscommerce.controllers;
 import static io.restassured.RestAssured.*;
 import static io.restassured.matcher.RestAssuredMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static com.devsuperior.dscommerce.tests.SpecUtil.*;
 
-import org.json.JSONException;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+import com.devsuperior.dscommerce.tests.TestUser;
 import com.devsuperior.dscommerce.tests.TokenUtil;
 
-import io.restassured.http.ContentType;
-
 public class UserControllerRA {
 	
-	private String clientUsername, clientPassword, adminUsername, adminPassword;
-	private String adminToken, clientToken, invalidToken;
-	
-	@BeforeEach
-	public void setup() throws JSONException {
-		baseURI = "http://localhost:8080";
-		
-		clientUsername = "maria@gmail.com";
-		clientPassword = "123456";
-		adminUsername = "alex@gmail.com";
-		adminPassword = "123456";
-		
-		clientToken = TokenUtil.obtainAccessToken(clientUsername, clientPassword);
-		adminToken = TokenUtil.obtainAccessToken(adminUsername, adminPassword);
-		invalidToken = adminToken + "xpto";
-	}
-	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void getMeShouldReturnUserWhenAdminLogged() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + adminToken)
-			.accept(ContentType.JSON)
+			.spec(admin())
 		.when()
 			.get("/users/me")
 		.then()
+			.spec(jsonResponse())
 			.statusCode(200)
 			.body("id", is(2))
 			.body("name", equalTo("Alex Green"))
@@ -51,15 +33,15 @@ public class UserControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void getMeShouldReturnUserWhenClientLogged() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + clientToken)
-			.accept(ContentType.JSON)
+			.spec(client())
 		.when()
 			.get("/users/me")
 		.then()
+			.spec(jsonResponse())
 			.statusCode(200)
 			.body("id", is(1))
 			.body("name", equalTo("Maria Brown"))
@@ -70,16 +52,63 @@ public class UserControllerRA {
 	}
 	
 	@Test
+	@LatencyBudget(millis = 250)
 	public void getMeShouldReturnUnauthorizedWhenInvalidToken() {
 		
 		given()
-			.header("Content-type", "application/json")
-			.header("Authorization", "Bearer " + invalidToken)
-			.accept(ContentType.JSON)
+			.spec(invalidToken())
 		.when()
 			.get("/users/me")
 		.then()
 			.statusCode(401);			
 	}
+	
+	@Test
+	public void getMeShouldReturnUserWhenTokenIssuedByPasswordGrant() {
+		String token = TokenUtil.passwordGrant(TestUser.ADMIN_ONLY.getUsername(), TestUser.ADMIN_ONLY.getPassword());
+		
+		given()
+			.spec(anonymous())
+			.header("Authorization", "Bearer " + token)
+		.when()
+			.get("/users/me")
+		.then()
+			.statusCode(200)
+			.body("email", equalTo("ana@gmail.com"))
+			.body("roles", contains("ROLE_ADMIN"));
+	}
+	
+	@Test
+	public void getMeShouldReturnUnauthorizedWhenTokenExpired() {
+		
+		given()
+			.spec(expiredToken())
+		.when()
+			.get("/users/me")
+		.then()
+			.statusCode(401);
+	}
+	
+	@Test
+	public void getMeShouldReturnUnauthorizedWhenTokenPayloadWasTampered() {
+		
+		given()
+			.spec(tamperedToken())
+		.when()
+			.get("/users/me")
+		.then()
+			.statusCode(401);
+	}
+	
+	@Test
+	public void getMeShouldReturnUnauthorizedWhenTokenSignedWithOtherKey() {
+		
+		given()
+			.spec(wrongSignatureToken())
+		.when()
+			.get("/users/me")
+		.then()
+			.statusCode(401);
+	}
 
 }
@@ -0,0 +1,137 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.devsuperior.dscommerce.tests.SpecUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Walks every page of /products (optionally filtered by ?name=) with bounded
+ * concurrency and checks the invariants a paginated catalog must keep across
+ * page boundaries: no duplicate or missing ids, the same totalElements on
+ * every page, and the requested sort order holding from one page to the next.
+ * Per-page latency is kept by page number so deep-offset slowdowns show up.
+ * 
+ * Configuration comes from system properties: crawl.names (comma separated
+ * name filters, empty entry for the unfiltered catalog; default ""),
+ * crawl.size (page size, 20), crawl.sort ("id"), crawl.concurrency (4) and
+ * crawl.output (target/crawl-results).
+ */
+public class CatalogCrawler {
+
+	public record PageSample(int number, long latencyNanos, long totalElements, List<Long> ids, List<JsonNode> sortValues) {
+	}
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final URI baseUri;
+	private final int pageSize;
+	private final String sort;
+	private final int concurrency;
+
+	public CatalogCrawler(URI baseUri, int pageSize, String sort, int concurrency) {
+		this.baseUri = baseUri;
+		this.pageSize = pageSize;
+		this.sort = sort;
+		this.concurrency = concurrency;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		URI baseUri = URI.create(SpecUtil.baseUri());
+		CatalogCrawler crawler = new CatalogCrawler(baseUri,
+				Integer.getInteger("crawl.size", 20),
+				System.getProperty("crawl.sort", "id"),
+				Integer.getInteger("crawl.concurrency", 4));
+		Path output = Path.of(System.getProperty("crawl.output", "target/crawl-results"));
+		boolean ok = true;
+		for (String name : System.getProperty("crawl.names", "").split(",", -1)) {
+			CrawlReport report = crawler.crawl(name.trim());
+			System.out.println(report.summary());
+			System.out.println("Results written to " + report.write(output).toAbsolutePath());
+			ok &= report.violations().isEmpty();
+		}
+		System.exit(ok ? 0 : 1);
+	}
+
+	public CrawlReport crawl(String name) throws InterruptedException {
+		long start = System.nanoTime();
+		PageSample first = fetch(name, 0);
+		int totalPages = (int) ((first.totalElements() + pageSize - 1) / pageSize);
+
+		List<PageSample> pages = new ArrayList<>();
+		pages.add(first);
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+		try {
+			List<Future<PageSample>> futures = new ArrayList<>();
+			for (int number = 1; number < totalPages; number++) {
+				int page = number;
+				futures.add(executor.submit(() -> fetch(name, page)));
+			}
+			for (Future<PageSample> future : futures) {
+				pages.add(future.get());
+			}
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Crawl of /products?name=" + name + " failed", e.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		long elapsed = System.nanoTime() - start;
+		return new CrawlReport(name, pageSize, sort, concurrency, pages, elapsed);
+	}
+
+	private PageSample fetch(String name, int page) {
+		String query = "?name=" + URLEncoder.encode(name, StandardCharsets.UTF_8) + "&page=" + page + "&size=" + pageSize
+				+ "&sort=" + URLEncoder.encode(sort, StandardCharsets.UTF_8);
+		HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/products" + query))
+				.header("Accept", "application/json")
+				.timeout(Duration.ofSeconds(30))
+				.GET()
+				.build();
+		try {
+			long sent = System.nanoTime();
+			HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			long latency = System.nanoTime() - sent;
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("GET /products" + query + " returned " + response.statusCode());
+			}
+			JsonNode body = mapper.readTree(response.body());
+			String sortField = sort.split(",")[0].trim();
+			List<Long> ids = new ArrayList<>();
+			List<JsonNode> sortValues = new ArrayList<>();
+			for (JsonNode product : body.get("content")) {
+				ids.add(product.get("id").asLong());
+				sortValues.add(product.get(sortField));
+			}
+			return new PageSample(page, latency, body.get("totalElements").asLong(), ids, sortValues);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,231 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.HdrHistogram.Histogram;
+
+import com.devsuperior.dscommerce.tests.SpecUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Bytes on the wire, server CPU and end-to-end latency of GET /products
+ * pages with and without Accept-Encoding: gzip, to pick
+ * server.compression.min-response-size from data.
+ *
+ * Every page size in compression.sizes (default 1,2,5,10,20,50,100) is
+ * fetched compression.samples times (200) after compression.warmup (50)
+ * rounds, identity and gzip interleaved, through java.net.http, which leaves
+ * the body encoded so its length is what crossed the wire; gzip latency
+ * includes decoding it. The in-process stand-in is seeded with
+ * seed.generated-products (1000) products and started with a zero
+ * threshold, so every size is measured compressed; its CPU is the CPU time
+ * of the Tomcat worker threads, which is not available against
+ * -Dapi.baseUri. Localhost has no bandwidth limit, so each row also
+ * estimates latency over a compression.link-mbps (100) Mbit/s link, and the
+ * smallest page whose gzip estimate is the lower gives the suggested
+ * threshold. Results go to compression.output (target/compression-bench).
+ */
+public class CompressionBenchmark {
+
+	private static final String WORKER_THREAD_PREFIX = "http-nio-";
+
+	private enum Encoding {
+		IDENTITY, GZIP
+	}
+
+	private static class Variant {
+
+		final Histogram latency = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		long serverCpuNanos;
+		long wireBytes;
+		long rawBytes;
+
+		double meanWireBytes() {
+			return (double) wireBytes / latency.getTotalCount();
+		}
+
+		double meanRawBytes() {
+			return (double) rawBytes / latency.getTotalCount();
+		}
+
+		double meanServerCpuMicros() {
+			return serverCpuNanos / 1e3 / latency.getTotalCount();
+		}
+
+		double estimatedMillis(double linkMbps) {
+			return latency.getMean() / 1e6 + meanWireBytes() * 8 / (linkMbps * 1e3);
+		}
+	}
+
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final String baseUri;
+	private final boolean inProcess;
+
+	public CompressionBenchmark(String baseUri, boolean inProcess) {
+		this.baseUri = baseUri;
+		this.inProcess = inProcess;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (System.getProperty("seed.generated-products") == null) {
+			System.setProperty("seed.generated-products", "1000");
+		}
+		if (System.getProperty("server.compression.min-response-size") == null) {
+			System.setProperty("server.compression.min-response-size", "0");
+		}
+		String external = System.getProperty(SpecUtil.BASE_URI_PROPERTY);
+		CompressionBenchmark benchmark = new CompressionBenchmark(SpecUtil.baseUri(), external == null || external.isBlank());
+		int[] sizes = Arrays.stream(System.getProperty("compression.sizes", "1,2,5,10,20,50,100").split(","))
+				.map(String::trim).mapToInt(Integer::parseInt).toArray();
+		int samples = Integer.getInteger("compression.samples", 200);
+		double linkMbps = Double.parseDouble(System.getProperty("compression.link-mbps", "100"));
+
+		Map<Integer, Map<Encoding, Variant>> results = new LinkedHashMap<>();
+		for (int size : sizes) {
+			Map<Encoding, Variant> variants = new LinkedHashMap<>();
+			for (Encoding encoding : Encoding.values()) {
+				variants.put(encoding, new Variant());
+			}
+			results.put(size, variants);
+		}
+		benchmark.run(sizes, Integer.getInteger("compression.warmup", 50), null);
+		benchmark.run(sizes, samples, results);
+
+		System.out.printf(Locale.ROOT, "%5s %9s %9s %6s | %9s %9s | %9s %9s | %11s %11s%n", "size", "raw B", "gzip B", "ratio",
+				"id p50 ms", "gz p50 ms", "id cpu us", "gz cpu us", "id ms@" + (int) linkMbps, "gz ms@" + (int) linkMbps);
+		Integer threshold = null;
+		List<Map<String, Object>> rows = new ArrayList<>();
+		for (Map.Entry<Integer, Map<Encoding, Variant>> entry : results.entrySet()) {
+			Variant identity = entry.getValue().get(Encoding.IDENTITY);
+			Variant gzip = entry.getValue().get(Encoding.GZIP);
+			System.out.printf(Locale.ROOT, "%5d %9.0f %9.0f %6.2f | %9.3f %9.3f | %9s %9s | %11.3f %11.3f%n", entry.getKey(),
+					identity.meanWireBytes(), gzip.meanWireBytes(), gzip.meanWireBytes() / identity.meanWireBytes(),
+					identity.latency.getValueAtPercentile(50) / 1e6, gzip.latency.getValueAtPercentile(50) / 1e6,
+					benchmark.cpu(identity), benchmark.cpu(gzip), identity.estimatedMillis(linkMbps), gzip.estimatedMillis(linkMbps));
+			if (threshold == null && gzip.estimatedMillis(linkMbps) < identity.estimatedMillis(linkMbps)) {
+				threshold = (int) Math.round(identity.meanRawBytes());
+			}
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("pageSize", entry.getKey());
+			row.put("identity", benchmark.toMap(identity, linkMbps));
+			row.put("gzip", benchmark.toMap(gzip, linkMbps));
+			rows.add(row);
+		}
+		System.out.println(threshold == null
+				? "gzip did not pay off at " + linkMbps + " Mbit/s for any page size"
+				: "gzip pays off at " + linkMbps + " Mbit/s from about " + threshold + " raw bytes");
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", Instant.now().toString());
+		report.put("baseUri", benchmark.baseUri);
+		report.put("samples", samples);
+		report.put("linkMbps", linkMbps);
+		report.put("suggestedThresholdBytes", threshold);
+		report.put("pages", rows);
+		Path directory = Path.of(System.getProperty("compression.output", "target/compression-bench"));
+		Files.createDirectories(directory);
+		Path file = directory.resolve("compression-" + Instant.now().toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+		System.out.println("Results written to " + file.toAbsolutePath());
+		System.exit(0);
+	}
+
+	/**
+	 * Rounds of every size and encoding in turn, recorded into results unless
+	 * it is null.
+	 */
+	private void run(int[] sizes, int rounds, Map<Integer, Map<Encoding, Variant>> results) throws IOException, InterruptedException {
+		for (int round = 0; round < rounds; round++) {
+			for (int size : sizes) {
+				for (Encoding encoding : Encoding.values()) {
+					fetch(size, encoding, results == null ? null : results.get(size).get(encoding));
+				}
+			}
+		}
+	}
+
+	private void fetch(int size, Encoding encoding, Variant variant) throws IOException, InterruptedException {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + "/products?page=0&size=" + size))
+				.header("Accept", "application/json");
+		if (encoding == Encoding.GZIP) {
+			request.header("Accept-Encoding", "gzip");
+		}
+		long cpuBefore = serverCpuNanos();
+		long start = System.nanoTime();
+		HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+		byte[] body = response.body();
+		boolean gzipped = response.headers().firstValue("Content-Encoding").map("gzip"::equalsIgnoreCase).orElse(false);
+		byte[] raw = gzipped ? gunzip(body) : body;
+		long elapsed = System.nanoTime() - start;
+		long cpu = serverCpuNanos() - cpuBefore;
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("GET /products?size=" + size + " answered " + response.statusCode());
+		}
+		if (variant != null) {
+			variant.latency.recordValue(Math.min(variant.latency.getHighestTrackableValue(), elapsed));
+			variant.serverCpuNanos += cpu;
+			variant.wireBytes += body.length;
+			variant.rawBytes += raw.length;
+		}
+	}
+
+	private static byte[] gunzip(byte[] body) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			return in.readAllBytes();
+		}
+	}
+
+	/**
+	 * CPU time of the in-process Tomcat worker threads, or 0 against an
+	 * external backend.
+	 */
+	private long serverCpuNanos() {
+		if (!inProcess) {
+			return 0;
+		}
+		long total = 0;
+		for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+			if (info != null && info.getThreadName().startsWith(WORKER_THREAD_PREFIX)) {
+				total += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+			}
+		}
+		return total;
+	}
+
+	private String cpu(Variant variant) {
+		return inProcess ? String.format(Locale.ROOT, "%.1f", variant.meanServerCpuMicros()) : "n/a";
+	}
+
+	private Map<String, Object> toMap(Variant variant, double linkMbps) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("wireBytes", variant.meanWireBytes());
+		map.put("rawBytes", variant.meanRawBytes());
+		map.put("latencyMs", EndpointStats.percentiles(variant.latency));
+		map.put("serverCpuMicros", inProcess ? variant.meanServerCpuMicros() : null);
+		map.put("estimatedMsAtLink", variant.estimatedMillis(linkMbps));
+		return map;
+	}
+
+}
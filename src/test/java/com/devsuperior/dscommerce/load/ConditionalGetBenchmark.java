@@ -0,0 +1,93 @@
+package com.devsuperior.dscommerce.load;
+
+import static io.restassured.RestAssured.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.devsuperior.dscommerce.tests.ConditionalCache;
+import com.devsuperior.dscommerce.tests.SpecUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Bytes and latency that ETag revalidation saves on the read-mostly catalog
+ * endpoints: GET /categories and GET /products/{id} for the ids 1 to
+ * conditional.products (25) are fetched conditional.rounds times (200),
+ * plainly and through {@link ConditionalCache}, interleaved. Plain fetches
+ * report their latency and body size; revalidated ones the cache's own
+ * counts of full and 304 responses and the body bytes not transferred.
+ * Results go to conditional.output (target/conditional-bench).
+ */
+public class ConditionalGetBenchmark {
+
+	private static class Plain {
+
+		final Histogram latency = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		long bytes;
+	}
+
+	public static void main(String[] args) throws IOException {
+		int products = Integer.getInteger("conditional.products", 25);
+		int rounds = Integer.getInteger("conditional.rounds", 200);
+		Map<String, Plain> plain = new LinkedHashMap<>();
+		plain.put("/categories", new Plain());
+		plain.put("/products/{id}", new Plain());
+
+		for (int round = 0; round < rounds; round++) {
+			String product = "/products/" + (1 + round % products);
+			for (String path : List.of("/categories", product)) {
+				Plain stats = plain.get(path.equals(product) ? "/products/{id}" : path);
+				long start = System.nanoTime();
+				Response response = fetch(SpecUtil.anonymous(), path);
+				stats.latency.recordValue(Math.min(stats.latency.getHighestTrackableValue(), System.nanoTime() - start));
+				stats.bytes += response.asByteArray().length;
+				fetch(SpecUtil.revalidating(), path);
+			}
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", Instant.now().toString());
+		report.put("rounds", rounds);
+		Map<String, Object> plainReport = new LinkedHashMap<>();
+		plain.forEach((template, stats) -> {
+			System.out.printf(Locale.ROOT, "plain GET %s: %d full (%.2f ms mean), %.1f KiB transferred%n", template,
+					stats.latency.getTotalCount(), stats.latency.getMean() / 1e6, stats.bytes / 1024.0);
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("latencyMs", EndpointStats.percentiles(stats.latency));
+			map.put("bodyBytes", stats.bytes);
+			plainReport.put(template, map);
+		});
+		String revalidated = ConditionalCache.instance().report();
+		System.out.print(revalidated);
+		report.put("plain", plainReport);
+		report.put("revalidated", revalidated.lines().toList());
+		Path directory = Path.of(System.getProperty("conditional.output", "target/conditional-bench"));
+		Files.createDirectories(directory);
+		Path file = directory.resolve("conditional-" + Instant.now().toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+		System.out.println("Results written to " + file.toAbsolutePath());
+		System.exit(0);
+	}
+
+	private static Response fetch(RequestSpecification spec, String path) {
+		Response response = given().spec(spec).get(path);
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+		}
+		return response;
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.devsuperior.dscommerce.load.CatalogCrawler.PageSample;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Invariant violations and timings of one catalog crawl.
+ */
+public class CrawlReport {
+
+	private static final int MAX_REPORTED_VIOLATIONS = 50;
+
+	private final String name;
+	private final int pageSize;
+	private final String sort;
+	private final int concurrency;
+	private final List<PageSample> pages;
+	private final long elapsedNanos;
+	private final List<String> violations = new ArrayList<>();
+	private final Histogram latency = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+	private final Instant finishedAt = Instant.now();
+
+	public CrawlReport(String name, int pageSize, String sort, int concurrency, List<PageSample> pages, long elapsedNanos) {
+		this.name = name;
+		this.pageSize = pageSize;
+		this.sort = sort;
+		this.concurrency = concurrency;
+		this.pages = new ArrayList<>(pages);
+		this.pages.sort(Comparator.comparingInt(PageSample::number));
+		this.elapsedNanos = elapsedNanos;
+		for (PageSample page : this.pages) {
+			latency.recordValue(Math.min(latency.getHighestTrackableValue(), page.latencyNanos()));
+		}
+		checkInvariants();
+	}
+
+	public List<String> violations() {
+		return violations;
+	}
+
+	private void checkInvariants() {
+		long expectedTotal = pages.get(0).totalElements();
+		boolean descending = sort.toLowerCase().endsWith(",desc");
+		Set<Long> seen = new HashSet<>();
+		JsonNode previous = null;
+		for (PageSample page : pages) {
+			if (page.totalElements() != expectedTotal) {
+				violation("page " + page.number() + ": totalElements " + page.totalElements() + ", page 0 reported " + expectedTotal);
+			}
+			boolean lastPage = page.number() == pages.size() - 1;
+			if (!lastPage && page.ids().size() != pageSize) {
+				violation("page " + page.number() + ": " + page.ids().size() + " elements, expected a full page of " + pageSize);
+			}
+			for (Long id : page.ids()) {
+				if (!seen.add(id)) {
+					violation("page " + page.number() + ": duplicate id " + id);
+				}
+			}
+			for (JsonNode value : page.sortValues()) {
+				if (previous != null && outOfOrder(previous, value, descending)) {
+					violation("page " + page.number() + ": " + value + " breaks sort order after " + previous);
+				}
+				previous = value;
+			}
+		}
+		if (seen.size() != expectedTotal) {
+			violation("crawl saw " + seen.size() + " distinct ids, totalElements is " + expectedTotal);
+		}
+	}
+
+	private static boolean outOfOrder(JsonNode previous, JsonNode current, boolean descending) {
+		int cmp = previous.isNumber() && current.isNumber()
+				? Double.compare(previous.asDouble(), current.asDouble())
+				: previous.asText().compareTo(current.asText());
+		return descending ? cmp < 0 : cmp > 0;
+	}
+
+	private void violation(String message) {
+		if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+			violations.add(message);
+		}
+	}
+
+	/**
+	 * Mean latency of the deepest 10% of pages divided by that of the first 10%.
+	 */
+	public double deepOffsetRatio() {
+		int decile = Math.max(1, pages.size() / 10);
+		double shallow = pages.subList(0, decile).stream().mapToLong(PageSample::latencyNanos).average().orElse(0);
+		double deep = pages.subList(pages.size() - decile, pages.size()).stream().mapToLong(PageSample::latencyNanos).average().orElse(0);
+		return shallow == 0 ? 0 : deep / shallow;
+	}
+
+	public double pagesPerSecond() {
+		return pages.size() / (elapsedNanos / 1e9);
+	}
+
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("finishedAt", finishedAt.toString());
+		map.put("name", name);
+		map.put("pageSize", pageSize);
+		map.put("sort", sort);
+		map.put("concurrency", concurrency);
+		map.put("pages", pages.size());
+		map.put("totalElements", pages.get(0).totalElements());
+		map.put("pagesPerSecond", pagesPerSecond());
+		map.put("latencyMs", EndpointStats.percentiles(latency));
+		map.put("deepOffsetRatio", deepOffsetRatio());
+		map.put("violations", violations);
+		List<Map<String, Object>> perPage = new ArrayList<>();
+		for (PageSample page : pages) {
+			perPage.add(Map.of("page", page.number(), "latencyMs", page.latencyNanos() / 1e6));
+		}
+		map.put("perPage", perPage);
+		return map;
+	}
+
+	public Path write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Path file = directory.resolve("crawl-" + finishedAt.toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), toMap());
+		return file;
+	}
+
+	public String summary() {
+		return String.format("/products?name=%s: %d pages (%d elements), %.1f pages/s, p50 %.2f ms, p99 %.2f ms, deep/shallow latency %.2fx, %s",
+				name, pages.size(), pages.get(0).totalElements(), pagesPerSecond(),
+				latency.getValueAtPercentile(50) / 1e6, latency.getValueAtPercentile(99) / 1e6, deepOffsetRatio(),
+				violations.isEmpty() ? "no invariant violations" : violations.size() + " violations: " + violations);
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.devsuperior.dscommerce.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and outcome counters of one endpoint.
+ * 
+ * Response time is measured from the moment the request was scheduled to go
+ * out, not from when it actually left, so stalls of the generator or the
+ * server are charged to every request that should have been sent during them
+ * (coordinated-omission correction). Service time, measured from the actual
+ * send, is kept alongside for comparison.
+ * 
+ * Times above one minute are recorded as one minute and counted as clamped,
+ * so a report whose max sits at the ceiling says how many samples it hides.
+ */
+public class EndpointStats {
+
+	private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	private final String name;
+	private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+	private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder clamped = new LongAdder();
+
+	public EndpointStats(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void record(long intendedStartNanos, long actualStartNanos, long endNanos, boolean success) {
+		long response = endNanos - intendedStartNanos;
+		if (response > HIGHEST_TRACKABLE_NANOS) {
+			clamped.increment();
+		}
+		responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_NANOS, response));
+		// service time never exceeds response time, so it is clamped no more often
+		serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_NANOS, endNanos - actualStartNanos));
+		if (!success) {
+			errors.increment();
+		}
+	}
+
+	public long count() {
+		return responseTime.getTotalCount();
+	}
+
+	public long errors() {
+		return errors.sum();
+	}
+
+	/**
+	 * Samples whose response time exceeded the one-minute ceiling.
+	 */
+	public long clamped() {
+		return clamped.sum();
+	}
+
+	public Histogram responseTime() {
+		return responseTime;
+	}
+
+	public Map<String, Object> toMap(double elapsedSeconds) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("count", count());
+		map.put("errors", errors());
+		map.put("clamped", clamped());
+		map.put("throughput", elapsedSeconds > 0 ? count() / elapsedSeconds : 0.0);
+		map.put("responseTimeMs", percentiles(responseTime));
+		map.put("serviceTimeMs", percentiles(serviceTime));
+		return map;
+	}
+
+	public static Map<String, Object> percentiles(Histogram histogram) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("p50", millis(histogram.getValueAtPercentile(50.0)));
+		map.put("p90", millis(histogram.getValueAtPercentile(90.0)));
+		map.put("p99", millis(histogram.getValueAtPercentile(99.0)));
+		map.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+		map.put("max", millis(histogram.getMaxValue()));
+		map.put("mean", histogram.getTotalCount() == 0 ? 0.0 : histogram.getMean() / 1_000_000.0);
+		return map;
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+}
@@ -0,0 +1,233 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.devsuperior.dscommerce.tests.ForkedDataExtension;
+import com.devsuperior.dscommerce.tests.SpecUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Open-model load generator: requests are started at a fixed arrival rate no
+ * matter how long earlier ones take, the way independent users arrive in
+ * production. Responses are handled with the asynchronous JDK HTTP client, so
+ * a single dispatcher thread can keep thousands of requests in flight.
+ * 
+ * At most load.maxInFlight requests are outstanding. An arrival beyond that
+ * is not dropped but deferred: it waits in a backlog and is sent as soon as
+ * a response frees a slot, and its response time still counts from its
+ * intended start, so a stalled server shows up in the percentiles instead of
+ * thinning the load (coordinated omission).
+ * 
+ * Configuration comes from system properties:
+ * load.rps (default 200), load.duration and load.warmup in seconds (30, 5),
+ * load.maxInFlight (2000), load.seed (42) and load.output (target/load-results).
+ * The base URI is resolved by {@link SpecUtil#baseUri()}, so it defaults to the
+ * in-process stand-in server.
+ * 
+ * The mix writes orders, so by default the run happens in a data fork the
+ * generator creates and discards afterwards; -Dload.fork=false runs it on the
+ * shared data of a backend without /forks.
+ */
+public class LoadGenerator {
+
+	public record LoadConfig(double rps, Duration duration, Duration warmup, int maxInFlight, long seed, Path output) {
+
+		public static LoadConfig fromSystemProperties() {
+			return new LoadConfig(
+					Double.parseDouble(System.getProperty("load.rps", "200")),
+					Duration.ofSeconds(Long.getLong("load.duration", 30)),
+					Duration.ofSeconds(Long.getLong("load.warmup", 5)),
+					Integer.getInteger("load.maxInFlight", 2000),
+					Long.getLong("load.seed", 42),
+					Path.of(System.getProperty("load.output", "target/load-results")));
+		}
+
+	}
+
+	private record Arrival(LoadScenario scenario, HttpRequest request, long intended, boolean measured) {
+	}
+
+	private final LoadConfig config;
+	private final List<LoadScenario> scenarios;
+	private final int[] cumulativeWeights;
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private String fork;
+
+	public LoadGenerator(LoadConfig config, List<LoadScenario> scenarios) {
+		this.config = config;
+		this.scenarios = List.copyOf(scenarios);
+		this.cumulativeWeights = new int[scenarios.size()];
+		int sum = 0;
+		for (int i = 0; i < scenarios.size(); i++) {
+			sum += scenarios.get(i).weight();
+			cumulativeWeights[i] = sum;
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		LoadConfig config = LoadConfig.fromSystemProperties();
+		URI baseUri = URI.create(SpecUtil.baseUri());
+		LoadGenerator generator = new LoadGenerator(config, LoadScenarios.defaultMix());
+		if (Boolean.parseBoolean(System.getProperty("load.fork", "true"))) {
+			generator.useFork(baseUri);
+		}
+		LoadReport report;
+		try {
+			report = generator.run(baseUri);
+		}
+		finally {
+			generator.discardFork(baseUri);
+		}
+		Path file = report.write(config.output());
+		System.out.println(report.summary());
+		System.out.println("Results written to " + file.toAbsolutePath());
+		System.exit(0);
+	}
+
+	void useFork(URI baseUri) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/forks"))
+				.timeout(Duration.ofSeconds(10))
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() != 201) {
+			throw new IllegalStateException("POST /forks returned " + response.statusCode()
+					+ "; run with -Dload.fork=false to load the shared data");
+		}
+		fork = new ObjectMapper().readTree(response.body()).get("id").asText();
+	}
+
+	void discardFork(URI baseUri) throws IOException, InterruptedException {
+		if (fork == null) {
+			return;
+		}
+		HttpResponse<Void> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/forks/" + fork))
+				.timeout(Duration.ofSeconds(10))
+				.DELETE()
+				.build(), HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() != 204) {
+			System.err.println("Data fork " + fork + " was not discarded: " + response.statusCode());
+		}
+		fork = null;
+	}
+
+	public LoadReport run(URI baseUri) throws InterruptedException {
+		Map<String, EndpointStats> stats = new LinkedHashMap<>();
+		for (LoadScenario scenario : scenarios) {
+			stats.put(scenario.name(), new EndpointStats(scenario.name()));
+		}
+		Random random = new Random(config.seed());
+		Semaphore inFlight = new Semaphore(config.maxInFlight());
+		Queue<Arrival> backlog = new ConcurrentLinkedQueue<>();
+		LongAdder deferred = new LongAdder();
+		List<CompletableFuture<?>> pending = new ArrayList<>();
+
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rps());
+		long start = System.nanoTime();
+		long measureFrom = start + config.warmup().toNanos();
+		long end = measureFrom + config.duration().toNanos();
+
+		for (long i = 0;; i++) {
+			long intended = start + i * intervalNanos;
+			if (intended - end >= 0) {
+				break;
+			}
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			LoadScenario scenario = pick(random);
+			Arrival arrival = new Arrival(scenario, request(scenario, baseUri, random), intended, intended - measureFrom >= 0);
+			if (inFlight.tryAcquire()) {
+				pending.add(send(arrival, stats, inFlight, backlog));
+			}
+			else {
+				if (arrival.measured()) {
+					deferred.increment();
+				}
+				backlog.add(arrival);
+				// every slot may have been freed before the arrival was queued
+				if (inFlight.tryAcquire()) {
+					pending.add(sendNext(stats, inFlight, backlog));
+				}
+			}
+			if (pending.size() >= 10_000) {
+				pending.removeIf(CompletableFuture::isDone);
+			}
+		}
+		while (!backlog.isEmpty()) {
+			inFlight.acquire();
+			pending.add(sendNext(stats, inFlight, backlog));
+		}
+		CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+		double elapsed = (System.nanoTime() - measureFrom) / 1_000_000_000.0;
+		return new LoadReport(baseUri, config, stats.values(), deferred.sum(), elapsed);
+	}
+
+	/**
+	 * Sends the arrival on a slot already taken and, once it completes, hands
+	 * the slot to the next deferred arrival; the future completes when the
+	 * backlog found empty at that point has released the slot.
+	 */
+	private CompletableFuture<Void> send(Arrival arrival, Map<String, EndpointStats> stats, Semaphore inFlight, Queue<Arrival> backlog) {
+		long sent = System.nanoTime();
+		return client.sendAsync(arrival.request(), HttpResponse.BodyHandlers.discarding())
+				.handle((response, error) -> {
+					long done = System.nanoTime();
+					if (arrival.measured()) {
+						boolean success = error == null && response.statusCode() == arrival.scenario().expectedStatus();
+						stats.get(arrival.scenario().name()).record(arrival.intended(), sent, done, success);
+					}
+					return sendNext(stats, inFlight, backlog);
+				})
+				.thenCompose(next -> next);
+	}
+
+	private CompletableFuture<Void> sendNext(Map<String, EndpointStats> stats, Semaphore inFlight, Queue<Arrival> backlog) {
+		Arrival next = backlog.poll();
+		if (next == null) {
+			inFlight.release();
+			return CompletableFuture.completedFuture(null);
+		}
+		return send(next, stats, inFlight, backlog);
+	}
+
+	private HttpRequest request(LoadScenario scenario, URI baseUri, Random random) {
+		HttpRequest.Builder request = scenario.factory().create(baseUri, random);
+		if (fork != null) {
+			request.header(ForkedDataExtension.HEADER, fork);
+		}
+		return request.build();
+	}
+
+	private LoadScenario pick(Random random) {
+		int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (r < cumulativeWeights[i]) {
+				return scenarios.get(i);
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+}
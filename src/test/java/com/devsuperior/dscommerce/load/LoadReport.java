@@ -0,0 +1,94 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Outcome of one load run, written as JSON so runs of different builds can be
+ * compared by tooling.
+ */
+public class LoadReport {
+
+	private final URI baseUri;
+	private final LoadGenerator.LoadConfig config;
+	private final List<EndpointStats> endpoints;
+	private final long deferred;
+	private final double elapsedSeconds;
+	private final Instant finishedAt = Instant.now();
+
+	public LoadReport(URI baseUri, LoadGenerator.LoadConfig config, Collection<EndpointStats> endpoints, long deferred, double elapsedSeconds) {
+		this.baseUri = baseUri;
+		this.config = config;
+		this.endpoints = new ArrayList<>(endpoints);
+		this.deferred = deferred;
+		this.elapsedSeconds = elapsedSeconds;
+	}
+
+	public List<EndpointStats> getEndpoints() {
+		return endpoints;
+	}
+
+	/**
+	 * Measured arrivals that found load.maxInFlight requests outstanding and
+	 * were sent late; their response times count from the intended start.
+	 */
+	public long getDeferred() {
+		return deferred;
+	}
+
+	public Map<String, Object> toMap() {
+		long total = endpoints.stream().mapToLong(EndpointStats::count).sum();
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("finishedAt", finishedAt.toString());
+		map.put("baseUri", baseUri.toString());
+		map.put("targetRps", config.rps());
+		map.put("achievedRps", elapsedSeconds > 0 ? total / elapsedSeconds : 0.0);
+		map.put("durationSeconds", config.duration().getSeconds());
+		map.put("warmupSeconds", config.warmup().getSeconds());
+		map.put("requests", total);
+		map.put("deferred", deferred);
+		Map<String, Object> byEndpoint = new LinkedHashMap<>();
+		for (EndpointStats stats : endpoints) {
+			byEndpoint.put(stats.getName(), stats.toMap(elapsedSeconds));
+		}
+		map.put("endpoints", byEndpoint);
+		return map;
+	}
+
+	public Path write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Path file = directory.resolve("load-" + finishedAt.toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), toMap());
+		return file;
+	}
+
+	public String summary() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-28s %8s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+		for (EndpointStats stats : endpoints) {
+			sb.append(String.format("%-28s %8d %7d %9.2f %9.2f %9.2f %9.2f%n", stats.getName(), stats.count(), stats.errors(),
+					stats.responseTime().getValueAtPercentile(50.0) / 1e6,
+					stats.responseTime().getValueAtPercentile(99.0) / 1e6,
+					stats.responseTime().getValueAtPercentile(99.9) / 1e6,
+					stats.responseTime().getMaxValue() / 1e6));
+		}
+		sb.append("deferred (max in flight reached, timed from intended start): ").append(deferred);
+		long clamped = endpoints.stream().mapToLong(EndpointStats::clamped).sum();
+		if (clamped > 0) {
+			sb.append(String.format("%nclamped (response time above 60 s, recorded as 60 s): %d", clamped));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.devsuperior.dscommerce.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Random;
+
+/**
+ * One weighted request type of the load mix. The name is the endpoint label
+ * results are grouped under, e.g. "GET /products/{id}". The factory returns
+ * the request unbuilt, so the generator can add its data fork header.
+ */
+public record LoadScenario(String name, int weight, int expectedStatus, RequestFactory factory) {
+
+	@FunctionalInterface
+	public interface RequestFactory {
+		HttpRequest.Builder create(URI baseUri, Random random);
+	}
+
+	public LoadScenario {
+		if (weight < 1) {
+			throw new IllegalArgumentException("Scenario weight must be positive: " + name);
+		}
+	}
+
+}
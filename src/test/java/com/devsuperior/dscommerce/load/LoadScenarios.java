@@ -0,0 +1,51 @@
+package com.devsuperior.dscommerce.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.devsuperior.dscommerce.tests.Fixtures;
+import com.devsuperior.dscommerce.tests.SpecUtil;
+
+/**
+ * Request definitions of ProductControllerRA and OrderControllerRA, turned
+ * into a weighted load mix: catalog reads dominate, checkouts are rarer.
+ * Headers come from the same {@link SpecUtil} specifications the RA tests
+ * use, captured once, and bodies from {@link Fixtures}, so both stay in step
+ * with the tests while requests are sent by the JDK client.
+ */
+public class LoadScenarios {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+	// set by the JDK client itself, which refuses them
+	private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+	public static List<LoadScenario> defaultMix() {
+		Map<String, String> anonymous = SpecUtil.headers(SpecUtil.anonymous());
+		Map<String, String> client = SpecUtil.headers(SpecUtil.client());
+		return List.of(
+				new LoadScenario("GET /products", 4, 200,
+						(base, random) -> request(base.resolve("/products"), anonymous).GET()),
+				new LoadScenario("GET /products?name={name}", 2, 200,
+						(base, random) -> request(base.resolve("/products?name=Macbook"), anonymous).GET()),
+				new LoadScenario("GET /products/{id}", 6, 200,
+						(base, random) -> request(base.resolve("/products/" + (1 + random.nextInt(24))), anonymous).GET()),
+				new LoadScenario("POST /orders", 1, 201,
+						(base, random) -> request(base.resolve("/orders"), client)
+								.POST(HttpRequest.BodyPublishers.ofByteArray(Fixtures.POST_ORDER.bytes()))));
+	}
+
+	private static HttpRequest.Builder request(URI uri, Map<String, String> headers) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(TIMEOUT);
+		headers.forEach((name, value) -> {
+			if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+				builder.header(name, value);
+			}
+		});
+		return builder;
+	}
+
+}
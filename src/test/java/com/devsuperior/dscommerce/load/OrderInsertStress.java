@@ -0,0 +1,282 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.devsuperior.dscommerce.tests.Fixtures;
+import com.devsuperior.dscommerce.tests.ForkedDataExtension;
+import com.devsuperior.dscommerce.tests.SpecUtil;
+import com.devsuperior.dscommerce.tests.TestUser;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Burst of concurrent checkouts: fires stress.orders POST /orders requests
+ * (default 2000) with at most stress.concurrency in flight (64), rotating over
+ * maria, alex and the seed.generated-users generated clients user1@gmail.com,
+ * ... (20, which also sizes the in-process stand-in), so orders are spread
+ * over many owners. Bodies have the shape of Fixtures.POST_ORDER, with
+ * products and quantities drawn from a seeded random (stress.seed).
+ * 
+ * Afterwards every created order is checked: ids must be unique, total must
+ * equal the sum of price x quantity of its items, and GET /orders/{id} must
+ * return the same document. Inserts run on their own data fork of the
+ * stand-in server when it offers one (stress.fork, default true), discarded
+ * at the end, so the shared data stays untouched. Results go to
+ * stress.output (target/stress-results).
+ */
+public class OrderInsertStress {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+	private static final String GENERATED_PASSWORD = "123456";
+
+	private record Client(String username, String password) {
+	}
+
+	private record Created(String token, JsonNode order) {
+	}
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final URI baseUri;
+	private final int orders;
+	private final int concurrency;
+	private final long seed;
+	private final List<Client> clients = new ArrayList<>();
+	private String fork;
+
+	public OrderInsertStress(URI baseUri, int orders, int concurrency, long seed, int generatedUsers) {
+		this.baseUri = baseUri;
+		this.orders = orders;
+		this.concurrency = concurrency;
+		this.seed = seed;
+		for (TestUser user : List.of(TestUser.CLIENT, TestUser.ADMIN)) {
+			clients.add(new Client(user.getUsername(), user.getPassword()));
+		}
+		for (int i = 1; i <= generatedUsers; i++) {
+			clients.add(new Client("user" + i + "@gmail.com", GENERATED_PASSWORD));
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (System.getProperty("seed.generated-users") == null) {
+			System.setProperty("seed.generated-users", "20");
+		}
+		OrderInsertStress stress = new OrderInsertStress(URI.create(SpecUtil.baseUri()),
+				Integer.getInteger("stress.orders", 2000),
+				Integer.getInteger("stress.concurrency", 64),
+				Long.getLong("stress.seed", 42L),
+				Integer.getInteger("seed.generated-users"));
+		if (Boolean.parseBoolean(System.getProperty("stress.fork", "true"))) {
+			stress.useFork();
+		}
+		Map<String, Object> report;
+		try {
+			report = stress.run();
+		}
+		finally {
+			stress.discardFork();
+		}
+		Path directory = Path.of(System.getProperty("stress.output", "target/stress-results"));
+		Files.createDirectories(directory);
+		Path file = directory.resolve("orders-" + Instant.now().toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+		System.out.println(report.get("summary"));
+		System.out.println("Results written to " + file.toAbsolutePath());
+		System.exit(((List<?>) report.get("violations")).isEmpty() ? 0 : 1);
+	}
+
+	void useFork() throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/forks"))
+				.timeout(TIMEOUT)
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() == 201) {
+			fork = mapper.readTree(response.body()).get("id").asText();
+		}
+	}
+
+	void discardFork() throws IOException, InterruptedException {
+		if (fork == null) {
+			return;
+		}
+		HttpResponse<Void> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/forks/" + fork))
+				.timeout(TIMEOUT)
+				.DELETE()
+				.build(), HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() != 204) {
+			System.err.println("Data fork " + fork + " was not discarded: " + response.statusCode());
+		}
+		fork = null;
+	}
+
+	public Map<String, Object> run() throws InterruptedException {
+		List<String> tokens = new ArrayList<>(clients.size());
+		for (Client user : clients) {
+			String token = TokenUtil.obtainAccessToken(user.username(), user.password());
+			if (token == null) {
+				throw new IllegalStateException(user.username() + " was not granted a token; is the backend seeded with seed.generated-users?");
+			}
+			tokens.add(token);
+		}
+		Random random = new Random(seed);
+		EndpointStats inserts = new EndpointStats("POST /orders");
+		LongAdder failures = new LongAdder();
+		List<Created> created = Collections.synchronizedList(new ArrayList<>());
+		Semaphore inFlight = new Semaphore(concurrency);
+		List<CompletableFuture<?>> pending = new ArrayList<>();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < orders; i++) {
+			String token = tokens.get(i % tokens.size());
+			HttpRequest request = request(baseUri.resolve("/orders"), token)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofByteArray(orderBody(random)))
+					.build();
+			inFlight.acquire();
+			long sent = System.nanoTime();
+			pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+					.handle((response, error) -> {
+						long done = System.nanoTime();
+						inFlight.release();
+						boolean success = error == null && response.statusCode() == 201;
+						inserts.record(sent, sent, done, success);
+						if (success) {
+							created.add(new Created(token, parse(response.body())));
+						}
+						else {
+							failures.increment();
+						}
+						return null;
+					}));
+		}
+		CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+
+		List<String> violations = verify(created);
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", Instant.now().toString());
+		report.put("baseUri", baseUri.toString());
+		report.put("fork", fork);
+		report.put("orders", orders);
+		report.put("concurrency", concurrency);
+		report.put("clients", clients.size());
+		report.put("created", created.size());
+		report.put("failed", failures.sum());
+		report.put("ordersPerSecond", created.size() / elapsed);
+		report.put("insert", inserts.toMap(elapsed));
+		report.put("violations", violations);
+		@SuppressWarnings("unchecked")
+		Map<String, Object> latency = (Map<String, Object>) ((Map<String, Object>) report.get("insert")).get("serviceTimeMs");
+		report.put("summary", String.format("POST /orders x%d at concurrency %d: %d created, %d failed, %.1f orders/s, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms, %s",
+				orders, concurrency, created.size(), failures.sum(), created.size() / elapsed,
+				latency.get("p50"), latency.get("p99"), latency.get("p999"), latency.get("max"),
+				violations.isEmpty() ? "all orders consistent" : violations.size() + " violations: " + violations));
+		return report;
+	}
+
+	private List<String> verify(List<Created> created) {
+		List<String> violations = Collections.synchronizedList(new ArrayList<>());
+		Set<Long> ids = new HashSet<>();
+		for (Created order : created) {
+			long id = order.order().get("id").asLong();
+			if (!ids.add(id)) {
+				violations.add("order id " + id + " returned more than once");
+			}
+			double expected = 0.0;
+			for (JsonNode item : order.order().get("items")) {
+				expected += item.get("price").asDouble() * item.get("quantity").asInt();
+			}
+			double total = order.order().get("total").asDouble();
+			if (Math.abs(total - expected) > 1e-6) {
+				violations.add("order " + id + ": total " + total + ", items add up to " + expected);
+			}
+		}
+		Semaphore inFlight = new Semaphore(concurrency);
+		List<CompletableFuture<?>> pending = new ArrayList<>();
+		Map<Long, JsonNode> fetched = new ConcurrentHashMap<>();
+		for (Created order : created) {
+			long id = order.order().get("id").asLong();
+			inFlight.acquireUninterruptibly();
+			pending.add(client.sendAsync(request(baseUri.resolve("/orders/" + id), order.token()).GET().build(),
+					HttpResponse.BodyHandlers.ofByteArray())
+					.handle((response, error) -> {
+						inFlight.release();
+						if (error != null || response.statusCode() != 200) {
+							violations.add("GET /orders/" + id + " failed: " + (error != null ? error : response.statusCode()));
+						}
+						else {
+							fetched.put(id, parse(response.body()));
+						}
+						return null;
+					}));
+		}
+		CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+		for (Created order : created) {
+			JsonNode reread = fetched.get(order.order().get("id").asLong());
+			if (reread != null && !reread.equals(order.order())) {
+				violations.add("GET /orders/" + order.order().get("id") + " differs from the POST response");
+			}
+		}
+		return violations;
+	}
+
+	private HttpRequest.Builder request(URI uri, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+				.timeout(TIMEOUT)
+				.header("Accept", "application/json")
+				.header("Authorization", "Bearer " + token);
+		if (fork != null) {
+			builder.header(ForkedDataExtension.HEADER, fork);
+		}
+		return builder;
+	}
+
+	private byte[] orderBody(Random random) {
+		int count = 1 + random.nextInt(3);
+		List<Object> items = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			items.add(Fixtures.map("productId", 1 + random.nextInt(24), "quantity", 1 + random.nextInt(5)));
+		}
+		try {
+			return mapper.writeValueAsBytes(Fixtures.map("items", items));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private JsonNode parse(byte[] body) {
+		try {
+			return mapper.readTree(body);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
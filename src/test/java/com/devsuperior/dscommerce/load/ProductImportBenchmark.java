@@ -0,0 +1,167 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.devsuperior.dscommerce.tests.Fixtures;
+import com.devsuperior.dscommerce.tests.ForkedDataExtension;
+import com.devsuperior.dscommerce.tests.JsonPayload;
+import com.devsuperior.dscommerce.tests.SpecUtil;
+import com.devsuperior.dscommerce.tests.TestUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Products per second of a catalog import: import.products products (default
+ * 2000) sent one POST /products at a time, against the same products sent
+ * sequentially as POST /products/batch requests of each size in
+ * import.batch-sizes (10,100,500). Every mode runs import.rounds times (3),
+ * interleaved, after one warm-up round, and its best round is reported with
+ * the latency of its requests. Bodies are Fixtures.POST_PRODUCT, so every
+ * item is valid.
+ *
+ * Imports go to a data fork of the stand-in server when it offers one
+ * (import.fork, default true), a new fork per round so the catalog does not
+ * grow between modes. Results go to import.output (target/import-bench).
+ */
+public class ProductImportBenchmark {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(60);
+	private static final int SINGLE = 0;
+
+	private record Round(int batchSize, double productsPerSecond, Histogram latency) {
+	}
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final URI baseUri;
+	private final int products;
+	private final boolean forked;
+	private final String token = TestUser.ADMIN.accessToken();
+	private String fork;
+
+	public ProductImportBenchmark(URI baseUri, int products, boolean forked) {
+		this.baseUri = baseUri;
+		this.products = products;
+		this.forked = forked;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		ProductImportBenchmark benchmark = new ProductImportBenchmark(URI.create(SpecUtil.baseUri()),
+				Integer.getInteger("import.products", 2000),
+				Boolean.parseBoolean(System.getProperty("import.fork", "true")));
+		List<Integer> modes = new ArrayList<>();
+		modes.add(SINGLE);
+		Arrays.stream(System.getProperty("import.batch-sizes", "10,100,500").split(","))
+				.map(String::trim).map(Integer::valueOf).forEach(modes::add);
+		int rounds = Integer.getInteger("import.rounds", 3);
+
+		for (int mode : modes) {
+			benchmark.run(mode);
+		}
+		Map<Integer, Round> best = new LinkedHashMap<>();
+		for (int round = 0; round < rounds; round++) {
+			for (int mode : modes) {
+				Round result = benchmark.run(mode);
+				best.merge(mode, result, (a, b) -> a.productsPerSecond() >= b.productsPerSecond() ? a : b);
+			}
+		}
+
+		double single = best.get(SINGLE).productsPerSecond();
+		List<Map<String, Object>> results = new ArrayList<>();
+		for (Round round : best.values()) {
+			System.out.printf(Locale.ROOT, "%-22s %9.1f products/s (x%5.1f), request p50 %8.2f ms, p99 %8.2f ms%n",
+					round.batchSize() == SINGLE ? "POST /products" : "POST /products/batch " + round.batchSize(),
+					round.productsPerSecond(), round.productsPerSecond() / single,
+					round.latency().getValueAtPercentile(50) / 1e6, round.latency().getValueAtPercentile(99) / 1e6);
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("batchSize", round.batchSize() == SINGLE ? null : round.batchSize());
+			map.put("productsPerSecond", round.productsPerSecond());
+			map.put("speedup", round.productsPerSecond() / single);
+			map.put("requestLatencyMs", EndpointStats.percentiles(round.latency()));
+			results.add(map);
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", Instant.now().toString());
+		report.put("products", benchmark.products);
+		report.put("rounds", rounds);
+		report.put("modes", results);
+		Path directory = Path.of(System.getProperty("import.output", "target/import-bench"));
+		Files.createDirectories(directory);
+		Path file = directory.resolve("import-" + Instant.now().toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+		System.out.println("Results written to " + file.toAbsolutePath());
+		System.exit(0);
+	}
+
+	/**
+	 * Imports all products one by one (batchSize {@link #SINGLE}) or in
+	 * batches of batchSize.
+	 */
+	private Round run(int batchSize) throws IOException, InterruptedException {
+		if (forked) {
+			useFork();
+		}
+		Histogram latency = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		byte[] batch = batchSize == SINGLE ? null : JsonPayload.array(Collections.nCopies(batchSize, Fixtures.POST_PRODUCT));
+		long start = System.nanoTime();
+		for (int sent = 0; sent < products; sent += Math.max(batchSize, 1)) {
+			int items = batchSize == SINGLE ? 1 : Math.min(batchSize, products - sent);
+			byte[] body = batchSize == SINGLE ? Fixtures.POST_PRODUCT.bytes()
+					: items == batchSize ? batch : JsonPayload.array(Collections.nCopies(items, Fixtures.POST_PRODUCT));
+			long requestStart = System.nanoTime();
+			HttpResponse<byte[]> response = client.send(request(batchSize == SINGLE ? "/products" : "/products/batch")
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofByteArray(body))
+					.build(), HttpResponse.BodyHandlers.ofByteArray());
+			latency.recordValue(Math.min(latency.getHighestTrackableValue(), System.nanoTime() - requestStart));
+			int expected = batchSize == SINGLE ? 201 : 200;
+			if (response.statusCode() != expected) {
+				throw new IllegalStateException("Import answered " + response.statusCode() + ": " + new String(response.body()));
+			}
+		}
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		return new Round(batchSize, products / elapsed, latency);
+	}
+
+	private void useFork() throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/forks"))
+				.timeout(TIMEOUT)
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+		fork = response.statusCode() == 201 ? mapper.readTree(response.body()).get("id").asText() : null;
+	}
+
+	private HttpRequest.Builder request(String path) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+				.timeout(TIMEOUT)
+				.header("Accept", "application/json")
+				.header("Authorization", "Bearer " + token);
+		if (fork != null) {
+			builder.header(ForkedDataExtension.HEADER, fork);
+		}
+		return builder;
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.devsuperior.dscommerce.load;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Time-to-first-200 of the packaged stand-in: starts a fresh JVM on the
+ * extracted jar of the fast-startup profile and polls GET /categories until
+ * it answers 200. Each mode adds a part of the optimizations: Spring AOT
+ * initializers (spring.aot.enabled), the AppCDS archive of the training run,
+ * or both, and last both with only the C1 compiler, which a short-lived
+ * stand-in can afford. Modes are interleaved run by run so machine noise spreads evenly.
+ * 
+ * Configuration comes from system properties: startup.jar (set by the
+ * profile), startup.runs (5), startup.timeout (60 seconds per boot) and
+ * startup.output (target/startup-bench).
+ */
+public class StartupBenchmark {
+
+	public enum Mode {
+		BASELINE(),
+		AOT("-Dspring.aot.enabled=true"),
+		CDS("-XX:SharedArchiveFile=application.jsa"),
+		AOT_CDS("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application-aot.jsa"),
+		AOT_CDS_C1("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application-aot.jsa", "-XX:TieredStopAtLevel=1");
+
+		private final List<String> options;
+
+		Mode(String... options) {
+			this.options = List.of(options);
+		}
+	}
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(1))
+			.build();
+	private final Path jar;
+	private final Duration timeout;
+
+	public StartupBenchmark(Path jar, Duration timeout) {
+		this.jar = jar;
+		this.timeout = timeout;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Path jar = Path.of(System.getProperty("startup.jar", "target/fast-startup/dscommerce-restassured-0.0.1-SNAPSHOT.jar"));
+		if (!Files.exists(jar)) {
+			System.err.println(jar + " not found, build it first with mvn -Pfast-startup -DskipTests package");
+			System.exit(1);
+		}
+		StartupBenchmark benchmark = new StartupBenchmark(jar, Duration.ofSeconds(Integer.getInteger("startup.timeout", 60)));
+		int runs = Integer.getInteger("startup.runs", 5);
+
+		Map<Mode, List<Double>> samples = new LinkedHashMap<>();
+		for (Mode mode : Mode.values()) {
+			samples.put(mode, new ArrayList<>());
+		}
+		for (int run = 1; run <= runs; run++) {
+			for (Mode mode : Mode.values()) {
+				double millis = benchmark.timeToFirst200(mode);
+				samples.get(mode).add(millis);
+				System.out.printf(Locale.ROOT, "run %d %-10s %8.0f ms%n", run, mode, millis);
+			}
+		}
+
+		double baseline = median(samples.get(Mode.BASELINE));
+		Map<String, Object> modes = new LinkedHashMap<>();
+		System.out.println();
+		System.out.println("Time to first 200 on /categories (median, min, max):");
+		for (Map.Entry<Mode, List<Double>> entry : samples.entrySet()) {
+			List<Double> values = entry.getValue();
+			double median = median(values);
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("options", entry.getKey().options);
+			summary.put("medianMs", median);
+			summary.put("minMs", values.stream().mapToDouble(Double::doubleValue).min().orElseThrow());
+			summary.put("maxMs", values.stream().mapToDouble(Double::doubleValue).max().orElseThrow());
+			summary.put("speedup", baseline / median);
+			summary.put("samplesMs", values);
+			modes.put(entry.getKey().name(), summary);
+			System.out.printf(Locale.ROOT, "  %-10s %8.0f %8.0f %8.0f ms  x%.2f%n", entry.getKey(), median, summary.get("minMs"),
+					summary.get("maxMs"), baseline / median);
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", Instant.now().toString());
+		report.put("jar", jar.toString());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		report.put("runs", runs);
+		report.put("modes", modes);
+		Path directory = Path.of(System.getProperty("startup.output", "target/startup-bench"));
+		Files.createDirectories(directory);
+		Path file = directory.resolve("startup-" + Instant.now().toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+		System.out.println("Results written to " + file.toAbsolutePath());
+		System.exit(0);
+	}
+
+	public double timeToFirst200(Mode mode) throws IOException, InterruptedException {
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(mode.options);
+		command.add("-jar");
+		command.add(jar.getFileName().toString());
+		command.add("--server.port=" + port);
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/categories"))
+				.timeout(Duration.ofSeconds(5))
+				.GET()
+				.build();
+
+		long start = System.nanoTime();
+		long deadline = start + timeout.toNanos();
+		Process process = new ProcessBuilder(command)
+				.directory(jar.toAbsolutePath().getParent().toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.start();
+		try {
+			while (System.nanoTime() < deadline) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException(mode + " exited with " + process.exitValue() + " before serving");
+				}
+				try {
+					if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+						return (System.nanoTime() - start) / 1e6;
+					}
+				}
+				catch (ConnectException e) {
+					// not listening yet
+				}
+				Thread.sleep(5);
+			}
+			throw new IllegalStateException(mode + " did not answer 200 within " + timeout);
+		}
+		finally {
+			process.destroy();
+			if (!process.waitFor(10, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static double median(List<Double> values) {
+		List<Double> sorted = values.stream().sorted().toList();
+		int middle = sorted.size() / 2;
+		return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+	}
+
+}
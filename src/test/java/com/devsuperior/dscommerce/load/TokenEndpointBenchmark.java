@@ -0,0 +1,194 @@
+package com.devsuperior.dscommerce.load;
+
+import static io.restassured.RestAssured.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.devsuperior.dscommerce.tests.SpecUtil;
+import com.devsuperior.dscommerce.tests.TestUser;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.restassured.response.Response;
+
+/**
+ * Throughput of the password grant on /oauth2/token against the number of
+ * concurrent clients, through {@link TokenUtil#authRequest}.
+ * 
+ * Every level in token.levels (default 1,2,4,8,16,32) runs closed-loop for
+ * token.duration seconds (10) after a token.warmup (5) second warm-up, with
+ * clients cycling over maria, alex, ana and seed.generated-users generated
+ * users (20, which also sizes the in-process stand-in). The knee is the
+ * lowest concurrency that reaches 90% of the best throughput; beyond it more
+ * clients only add latency. A sequential run then compares issuing a token
+ * with using it on /users/me, first uncached and then cached by the server's
+ * verifier, and with an anonymous GET /categories as baseline. Results go to
+ * token.output (target/token-bench).
+ */
+public class TokenEndpointBenchmark {
+
+	private static final double KNEE_FRACTION = 0.9;
+
+	private record Credentials(String username, String password) {
+	}
+
+	private record Level(int clients, double throughput, long errors, Histogram latency) {
+	}
+
+	private final List<Credentials> users = new ArrayList<>();
+	private final int durationSeconds;
+	private final int warmupSeconds;
+
+	public TokenEndpointBenchmark(int generatedUsers, int durationSeconds, int warmupSeconds) {
+		for (TestUser user : TestUser.values()) {
+			users.add(new Credentials(user.getUsername(), user.getPassword()));
+		}
+		for (int i = 1; i <= generatedUsers; i++) {
+			users.add(new Credentials("user" + i + "@gmail.com", "123456"));
+		}
+		this.durationSeconds = durationSeconds;
+		this.warmupSeconds = warmupSeconds;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (System.getProperty("seed.generated-users") == null) {
+			System.setProperty("seed.generated-users", "20");
+		}
+		TokenEndpointBenchmark benchmark = new TokenEndpointBenchmark(Integer.getInteger("seed.generated-users"),
+				Integer.getInteger("token.duration", 10), Integer.getInteger("token.warmup", 5));
+		int[] levels = Arrays.stream(System.getProperty("token.levels", "1,2,4,8,16,32").split(","))
+				.map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+		benchmark.drive(levels[levels.length - 1], benchmark.warmupSeconds);
+		List<Level> results = new ArrayList<>();
+		for (int clients : levels) {
+			Level level = benchmark.drive(clients, benchmark.durationSeconds);
+			results.add(level);
+			System.out.println(row(level));
+		}
+		Level knee = knee(results);
+		Map<String, Object> overhead = benchmark.authOverhead(Integer.getInteger("token.samples", 200));
+
+		System.out.println();
+		System.out.println("Throughput against concurrency:");
+		double best = results.stream().mapToDouble(Level::throughput).max().orElse(1.0);
+		for (Level level : results) {
+			System.out.printf(Locale.ROOT, "  %4d | %-40s %7.1f/s%s%n", level.clients(),
+					"#".repeat((int) Math.round(40 * level.throughput() / best)), level.throughput(),
+					level == knee ? "  <- knee" : "");
+		}
+		System.out.println("Auth overhead (ms, p50 / mean): " + overhead);
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", Instant.now().toString());
+		report.put("users", benchmark.users.size());
+		report.put("durationSeconds", benchmark.durationSeconds);
+		List<Map<String, Object>> levelMaps = new ArrayList<>();
+		for (Level level : results) {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("clients", level.clients());
+			map.put("throughput", level.throughput());
+			map.put("errors", level.errors());
+			map.put("latencyMs", EndpointStats.percentiles(level.latency()));
+			levelMaps.add(map);
+		}
+		report.put("levels", levelMaps);
+		report.put("kneeClients", knee.clients());
+		report.put("authOverheadMs", overhead);
+		Path directory = Path.of(System.getProperty("token.output", "target/token-bench"));
+		Files.createDirectories(directory);
+		Path file = directory.resolve("token-" + Instant.now().toEpochMilli() + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+		System.out.println("Results written to " + file.toAbsolutePath());
+		System.exit(0);
+	}
+
+	private Level drive(int clients, int seconds) throws InterruptedException {
+		Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+		LongAdder errors = new LongAdder();
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		for (int worker = 0; worker < clients; worker++) {
+			int offset = worker;
+			executor.execute(() -> {
+				for (int i = offset; System.nanoTime() < deadline; i += clients) {
+					Credentials user = users.get(i % users.size());
+					long sent = System.nanoTime();
+					Response response = TokenUtil.authRequest(user.username(), user.password());
+					latency.recordValue(Math.min(latency.getHighestTrackableValue(), System.nanoTime() - sent));
+					if (response.statusCode() != 200) {
+						errors.increment();
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		return new Level(clients, latency.getTotalCount() / elapsed, errors.sum(), latency);
+	}
+
+	private Map<String, Object> authOverhead(int samples) {
+		Histogram issue = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		Histogram firstUse = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		Histogram cachedUse = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		Histogram anonymous = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		for (int i = 0; i < samples; i++) {
+			Credentials user = users.get(i % users.size());
+			long start = System.nanoTime();
+			String token = TokenUtil.authRequest(user.username(), user.password()).jsonPath().getString("access_token");
+			issue.recordValue(System.nanoTime() - start);
+			firstUse.recordValue(timeGetMe(token));
+			cachedUse.recordValue(timeGetMe(token));
+			start = System.nanoTime();
+			given().spec(SpecUtil.anonymous()).get("/categories").then().statusCode(200);
+			anonymous.recordValue(System.nanoTime() - start);
+		}
+		Map<String, Object> overhead = new LinkedHashMap<>();
+		overhead.put("POST /oauth2/token", summary(issue));
+		overhead.put("GET /users/me (new token)", summary(firstUse));
+		overhead.put("GET /users/me (cached token)", summary(cachedUse));
+		overhead.put("GET /categories (anonymous)", summary(anonymous));
+		return overhead;
+	}
+
+	private static long timeGetMe(String token) {
+		long start = System.nanoTime();
+		given().spec(SpecUtil.anonymous()).header("Authorization", "Bearer " + token).get("/users/me").then().statusCode(200);
+		return System.nanoTime() - start;
+	}
+
+	private static String summary(Histogram histogram) {
+		return String.format(Locale.ROOT, "%.2f / %.2f", histogram.getValueAtPercentile(50) / 1e6, histogram.getMean() / 1e6);
+	}
+
+	private static Level knee(List<Level> levels) {
+		double best = levels.stream().mapToDouble(Level::throughput).max().orElse(0.0);
+		return levels.stream().filter(level -> level.throughput() >= KNEE_FRACTION * best).findFirst().orElseThrow();
+	}
+
+	private static String row(Level level) {
+		return String.format(Locale.ROOT, "clients %3d: %8.1f tokens/s, p50 %7.2f ms, p99 %7.2f ms, %d errors", level.clients(),
+				level.throughput(), level.latency().getValueAtPercentile(50) / 1e6, level.latency().getValueAtPercentile(99) / 1e6,
+				level.errors());
+	}
+
+}
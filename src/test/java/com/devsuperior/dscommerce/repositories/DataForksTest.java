@@ -0,0 +1,39 @@
+package com.devsuperior.dscommerce.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class DataForksTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final DataForks forks = new DataForks(Duration.ofNanos(100), 2, now::get);
+
+	@Test
+	public void existsShouldDiscardForkWhenIdleLongerThanTtl() {
+		String used = forks.fork().orElseThrow();
+		String idle = forks.fork().orElseThrow();
+		now.set(60);
+		assertTrue(forks.exists(used));
+		now.set(120);
+
+		assertTrue(forks.exists(used));
+		assertFalse(forks.exists(idle));
+		assertEquals(1, forks.size());
+	}
+
+	@Test
+	public void forkShouldRefuseWhenMaxCountForksAreInUse() {
+		forks.fork().orElseThrow();
+		forks.fork().orElseThrow();
+
+		assertTrue(forks.fork().isEmpty());
+		now.set(100);
+		assertTrue(forks.fork().isPresent());
+		assertEquals(1, forks.size());
+	}
+
+}
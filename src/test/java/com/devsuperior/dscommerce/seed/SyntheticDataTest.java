@@ -0,0 +1,43 @@
+package com.devsuperior.dscommerce.seed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+public class SyntheticDataTest {
+	
+	@Test
+	public void generateShouldWriteTheSameRowsWhateverTheParallelism() {
+		String sequential = sql(new SyntheticData(7, 25_000, 500, 25_000, 1));
+		String parallel = sql(new SyntheticData(7, 25_000, 500, 25_000, 4));
+		
+		assertEquals(sequential, parallel);
+		assertNotEquals(sequential, sql(new SyntheticData(8, 25_000, 500, 25_000, 4)));
+	}
+	
+	@Test
+	public void generateShouldKeepRowsAfterTheFixtureIds() {
+		SyntheticData data = new SyntheticData(42, 1_000, 10, 1_000, 2);
+		
+		for (long id = SyntheticData.FIRST_ORDER_ID; id < SyntheticData.FIRST_ORDER_ID + 1_000; id++) {
+			SyntheticData.OrderRow order = data.order(id);
+			assertFalse(order.items().isEmpty());
+			assertTrue(order.clientId() == 1 || order.clientId() == 2 || order.clientId() >= SyntheticData.FIRST_USER_ID);
+			assertTrue(order.clientId() < SyntheticData.FIRST_USER_ID + 10);
+			for (SyntheticData.ItemRow item : order.items()) {
+				assertTrue(item.productId() >= SyntheticData.FIRST_PRODUCT_ID && item.productId() < SyntheticData.FIRST_PRODUCT_ID + 1_000);
+				assertEquals(data.product(item.productId()).price(), item.price());
+			}
+		}
+		assertEquals("user1@gmail.com", data.user(SyntheticData.FIRST_USER_ID).email());
+		assertTrue(data.product(SyntheticData.FIRST_PRODUCT_ID).categoryIds().size() <= 3);
+	}
+	
+	private static String sql(SyntheticData data) {
+		StringWriter out = new StringWriter();
+		data.generate(new SqlSeedWriter(out, "hash"));
+		return out.toString();
+	}
+}
@@ -0,0 +1,88 @@
+package com.devsuperior.dscommerce.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscommerce.services.IdempotencyCache.Outcome;
+import com.devsuperior.dscommerce.services.exceptions.ConflictException;
+import com.devsuperior.dscommerce.services.exceptions.ServiceUnavailableException;
+
+public class IdempotencyCacheTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicInteger runs = new AtomicInteger();
+	private final IdempotencyCache<Integer> cache = new IdempotencyCache<>(Duration.ofNanos(100), 3, now::get);
+
+	@Test
+	public void executeShouldReplayFirstResultWhenKeyRepeats() {
+		Outcome<Integer> first = cache.execute("a", "x", runs::incrementAndGet);
+		Outcome<Integer> second = cache.execute("a", "x", runs::incrementAndGet);
+
+		assertEquals(new Outcome<>(1, false), first);
+		assertEquals(new Outcome<>(1, true), second);
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	public void executeShouldThrowConflictWhenFingerprintDiffers() {
+		cache.execute("a", "x", runs::incrementAndGet);
+
+		assertThrows(ConflictException.class, () -> cache.execute("a", "y", runs::incrementAndGet));
+	}
+
+	@Test
+	public void executeShouldRunAgainWhenFirstAttemptFailed() {
+		assertThrows(IllegalStateException.class, () -> cache.execute("a", "x", () -> {
+			throw new IllegalStateException();
+		}));
+
+		assertEquals(new Outcome<>(1, false), cache.execute("a", "x", runs::incrementAndGet));
+	}
+
+	@Test
+	public void executeShouldRunAgainWhenKeyExpired() {
+		cache.execute("a", "x", runs::incrementAndGet);
+		now.addAndGet(100);
+
+		assertEquals(new Outcome<>(2, false), cache.execute("a", "x", runs::incrementAndGet));
+	}
+
+	@Test
+	public void executeShouldDropOldestKeysBeyondBound() {
+		for (String key : new String[] { "a", "b", "c", "d" }) {
+			cache.execute(key, "x", runs::incrementAndGet);
+		}
+
+		assertEquals(3, cache.size());
+		assertEquals(new Outcome<>(4, true), cache.execute("d", "x", runs::incrementAndGet));
+		assertEquals(new Outcome<>(5, false), cache.execute("a", "x", runs::incrementAndGet));
+	}
+
+	@Test
+	public void executeShouldKeepInFlightKeyWhenDroppingForRoom() {
+		cache.execute("a", "x", () -> {
+			for (String key : new String[] { "b", "c", "d" }) {
+				cache.execute(key, "x", runs::incrementAndGet);
+			}
+			return runs.incrementAndGet();
+		});
+
+		assertEquals(new Outcome<>(4, true), cache.execute("a", "x", runs::incrementAndGet));
+		assertEquals(new Outcome<>(5, false), cache.execute("b", "x", runs::incrementAndGet));
+	}
+
+	@Test
+	public void executeShouldThrowServiceUnavailableWhenEveryKeyIsInFlight() {
+		assertThrows(ServiceUnavailableException.class, () -> cache.execute("a", "x",
+				() -> cache.execute("b", "x",
+						() -> cache.execute("c", "x",
+								() -> cache.execute("d", "x", runs::incrementAndGet).result()).result()).result()));
+		assertEquals(0, cache.size());
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same request from many threads released together, to provoke
+ * races on the server. Workers carry the data fork and traffic scope of the
+ * calling test, so their requests reach its fork and are recorded under it.
+ * 
+ * <pre>
+ * List&lt;Response&gt; responses = Concurrently.run(16, () -&gt; given().spec(client()).post("/orders"));
+ * </pre>
+ */
+public final class Concurrently {
+
+	private static final long TIMEOUT_SECONDS = 60;
+
+	private Concurrently() {
+	}
+
+	public static <T> List<T> run(int threads, Callable<T> request) throws Exception {
+		String fork = ForkedDataExtension.currentFork();
+		String scope = TrafficScopeExtension.boundScope();
+		CyclicBarrier start = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<T>> futures = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					ForkedDataExtension.bindFork(fork);
+					TrafficScopeExtension.bindScope(scope);
+					try {
+						start.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+						return request.call();
+					}
+					finally {
+						ForkedDataExtension.bindFork(null);
+						TrafficScopeExtension.bindScope(null);
+					}
+				}));
+			}
+			List<T> results = new ArrayList<>(threads);
+			for (Future<T> future : futures) {
+				try {
+					results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+				}
+				catch (ExecutionException e) {
+					if (e.getCause() instanceof Error error) {
+						throw error;
+					}
+					throw (Exception) e.getCause();
+				}
+			}
+			return results;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.devsuperior.dscommerce.tests.TrafficStore.RecordedResponse;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Client-side HTTP cache for GET responses carrying an ETag: a repeated GET
+ * is sent with If-None-Match, and a 304 Not Modified is answered with the
+ * cached 200 response, so tests assert on the same body either way.
+ * 
+ * Since assertions then see the client's copy rather than what the server
+ * sent, the cache is only installed where revalidation is what is being
+ * tested or measured: {@link SpecUtil#revalidating()} and the conditional
+ * GET benchmark. -Dhttp.conditional=true puts it on every specification.
+ * 
+ * Entries are keyed by the URI and the Authorization, data fork and Accept
+ * headers. Requests that set If-None-Match themselves go through untouched,
+ * as does everything while recording or replaying traffic, whose keys must
+ * not depend on cache state. Per URI template it counts full and not
+ * modified responses with their mean latency, and the body bytes that 304s
+ * did not transfer, which {@link HarnessReportListener} prints at the end of
+ * the run.
+ */
+public class ConditionalCache implements Filter {
+	
+	private static final boolean ENABLED = !TrafficFilter.isRecording() && !TrafficFilter.isReplaying();
+	private static final boolean ON_EVERY_SPEC = Boolean.parseBoolean(System.getProperty("http.conditional", "false"));
+	private static final List<String> KEY_HEADERS = List.of("Authorization", ForkedDataExtension.HEADER, "Accept");
+	private static final int MAX_ENTRIES = 10_000;
+	
+	private static final ConditionalCache INSTANCE = new ConditionalCache();
+	
+	private final Map<String, RecordedResponse> entries = new ConcurrentHashMap<>();
+	private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+	
+	public static ConditionalCache instance() {
+		return INSTANCE;
+	}
+	
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+	
+	public static boolean isOnEverySpec() {
+		return ON_EVERY_SPEC;
+	}
+	
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		if (!ENABLED || !"GET".equals(requestSpec.getMethod()) || requestSpec.getHeaders().hasHeaderWithName("If-None-Match")) {
+			return ctx.next(requestSpec, responseSpec);
+		}
+		String key = key(requestSpec);
+		RecordedResponse cached = entries.get(key);
+		if (cached != null) {
+			requestSpec.header("If-None-Match", cached.headers().get("ETag"));
+		}
+		long start = System.nanoTime();
+		Response response = ctx.next(requestSpec, responseSpec);
+		long elapsed = System.nanoTime() - start;
+		if (cached != null && response.statusCode() == 304) {
+			endpoint(requestSpec).notModified(elapsed, cached.body().length);
+			return TrafficFilter.toResponse(cached);
+		}
+		if (response.statusCode() == 200 && response.getHeader("ETag") != null) {
+			RecordedResponse entry = TrafficFilter.toRecorded(response);
+			endpoint(requestSpec).full(elapsed);
+			if (entries.size() >= MAX_ENTRIES) {
+				entries.clear();
+			}
+			entries.put(key, entry);
+		}
+		else if (cached != null) {
+			entries.remove(key, cached);
+		}
+		return response;
+	}
+	
+	private Endpoint endpoint(FilterableRequestSpecification requestSpec) {
+		return endpoints.computeIfAbsent(RequestLatencyFilter.template(requestSpec.getUserDefinedPath()), template -> new Endpoint());
+	}
+	
+	private static String key(FilterableRequestSpecification requestSpec) {
+		StringBuilder key = new StringBuilder(requestSpec.getURI());
+		for (String name : KEY_HEADERS) {
+			Header header = requestSpec.getHeaders().get(name);
+			if (header != null) {
+				key.append('\n').append(name).append(": ").append(header.getValue());
+			}
+		}
+		return key.toString();
+	}
+	
+	/**
+	 * Responses answered from the cache after a 304, over all templates.
+	 */
+	public long notModified() {
+		return endpoints.values().stream().mapToLong(endpoint -> endpoint.notModified.sum()).sum();
+	}
+	
+	/**
+	 * One line per URI template that got a cacheable response, or an empty
+	 * string.
+	 */
+	public String report() {
+		StringBuilder report = new StringBuilder();
+		new TreeMap<>(endpoints).forEach((template, endpoint) -> report.append(String.format(Locale.ROOT,
+				"[harness] conditional GET %s: %d full (%.2f ms mean), %d not modified (%.2f ms mean), %.1f KiB not transferred%n",
+				template, endpoint.full.sum(), mean(endpoint.fullNanos, endpoint.full), endpoint.notModified.sum(),
+				mean(endpoint.notModifiedNanos, endpoint.notModified), endpoint.savedBytes.sum() / 1024.0)));
+		return report.toString();
+	}
+	
+	private static double mean(LongAdder nanos, LongAdder count) {
+		long n = count.sum();
+		return n == 0 ? 0 : nanos.sum() / 1e6 / n;
+	}
+	
+	private static class Endpoint {
+		
+		private final LongAdder full = new LongAdder();
+		private final LongAdder fullNanos = new LongAdder();
+		private final LongAdder notModified = new LongAdder();
+		private final LongAdder notModifiedNanos = new LongAdder();
+		private final LongAdder savedBytes = new LongAdder();
+		
+		void full(long nanos) {
+			full.increment();
+			fullNanos.add(nanos);
+		}
+		
+		void notModified(long nanos, int bytes) {
+			notModified.increment();
+			notModifiedNanos.add(nanos);
+			savedBytes.add(bytes);
+		}
+	}
+
+}
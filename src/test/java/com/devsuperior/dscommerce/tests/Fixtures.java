@@ -0,0 +1,49 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical request bodies of the RA tests, built and serialized once per JVM.
+ * Validation cases derive from them with {@link JsonPayload#with(String, Object)},
+ * e.g. {@code POST_PRODUCT.with("price", -50.0)}.
+ */
+public final class Fixtures {
+
+	public static final String LOREM_IPSUM = "Lorem ipsum, dolor sit amet consectetur adipisicing elit. Qui ad, adipisci illum ipsam velit et odit eaque reprehenderit ex maxime delectus dolore labore, quisquam quae tempora natus esse aliquam veniam doloremque quam minima culpa alias maiores commodi. Perferendis enim";
+	public static final String IMG_URL = "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg";
+
+	private static final List<Map<String, Object>> CATEGORIES = List.of(map("id", 2), map("id", 3));
+
+	public static final JsonPayload POST_PRODUCT = product("Meu produto novo", 50.0);
+
+	public static final JsonPayload PUT_PRODUCT = product("Produto atualizado", 200.0);
+
+	public static final JsonPayload POST_ORDER = JsonPayload.of(map("items", List.of(
+			map("productId", 1, "quantity", 2),
+			map("productId", 5, "quantity", 1))));
+
+	private Fixtures() {
+	}
+
+	private static JsonPayload product(String name, double price) {
+		return JsonPayload.of(map(
+				"name", name,
+				"description", LOREM_IPSUM,
+				"imgUrl", IMG_URL,
+				"price", price,
+				"categories", CATEGORIES));
+	}
+
+	// insertion-ordered, so the serialized bytes are identical on every run
+	public static Map<String, Object> map(Object... keysAndValues) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+}
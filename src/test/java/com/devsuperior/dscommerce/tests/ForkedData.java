@@ -0,0 +1,20 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Runs the annotated test, or every test of the annotated class, against its
+ * own copy-on-write fork of the stand-in server's seeded data. On a method
+ * the fork is discarded after the test; on a class it is shared by the tests
+ * of the class and discarded once they have all run.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(ForkedDataExtension.class)
+public @interface ForkedData {
+}
@@ -0,0 +1,158 @@
+package com.devsuperior.dscommerce.tests;
+
+import static io.restassured.RestAssured.*;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.extension.DynamicTestInvocationContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+
+/**
+ * Enforces {@link ForkedData}: creates forks through POST /forks and binds
+ * the fork to the test thread, where {@link #header()} adds it to every
+ * request of the {@link SpecUtil} specifications. Dynamic tests share one
+ * fork per annotated test factory, or the class fork.
+ * 
+ * Forks are expected from the in-process stand-in, or from an external
+ * -Dapi.baseUri started with -Dapi.forks=true, and a 404 from POST /forks
+ * then fails the test. Against any other external backend the test runs on
+ * the shared data, serialized with every other {@link ForkedData} test
+ * through {@link ForkedDataLocks}.
+ */
+public class ForkedDataExtension implements InvocationInterceptor {
+	
+	public static final String HEADER = "X-Data-Fork";
+	public static final String FORKS_PROPERTY = "api.forks";
+	
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ForkedDataExtension.class);
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+	private static final Filter HEADER_FILTER = (requestSpec, responseSpec, ctx) -> {
+		String fork = CURRENT.get();
+		if (fork != null) {
+			requestSpec.header(HEADER, fork);
+		}
+		return ctx.next(requestSpec, responseSpec);
+	};
+	
+	public static Filter header() {
+		return HEADER_FILTER;
+	}
+	
+	/**
+	 * Whether the backend under test is expected to offer /forks: the
+	 * in-process stand-in does, an external one only when -Dapi.forks=true.
+	 */
+	public static boolean forksExpected() {
+		String forks = System.getProperty(FORKS_PROPERTY);
+		if (forks != null && !forks.isBlank()) {
+			return Boolean.parseBoolean(forks);
+		}
+		String baseUri = System.getProperty(SpecUtil.BASE_URI_PROPERTY);
+		return baseUri == null || baseUri.isBlank();
+	}
+	
+	static String currentFork() {
+		return CURRENT.get();
+	}
+	
+	static void bindFork(String fork) {
+		if (fork == null) {
+			CURRENT.remove();
+		}
+		else {
+			CURRENT.set(fork);
+		}
+	}
+	
+	@Override
+	public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		runForked(invocation, extensionContext);
+	}
+	
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		runForked(invocation, extensionContext);
+	}
+	
+	@Override
+	public void interceptDynamicTest(Invocation<Void> invocation, DynamicTestInvocationContext invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		ExtensionContext owner = extensionContext;
+		while (!owner.getElement().map(element -> element.isAnnotationPresent(ForkedData.class)).orElse(false)) {
+			owner = owner.getParent().orElseThrow();
+		}
+		runIn(sharedFork(owner), invocation, false);
+	}
+	
+	private static void runForked(Invocation<Void> invocation, ExtensionContext extensionContext) throws Throwable {
+		boolean perMethod = extensionContext.getRequiredTestMethod().isAnnotationPresent(ForkedData.class);
+		runIn(perMethod ? Fork.create() : classFork(extensionContext), invocation, perMethod);
+	}
+	
+	private static void runIn(Fork fork, Invocation<Void> invocation, boolean perMethod) throws Throwable {
+		String previous = CURRENT.get();
+		CURRENT.set(fork.id);
+		try {
+			invocation.proceed();
+		}
+		finally {
+			CURRENT.set(previous);
+			if (perMethod) {
+				fork.close();
+			}
+		}
+	}
+	
+	private static Fork classFork(ExtensionContext context) {
+		ExtensionContext classContext = context;
+		while (classContext.getTestMethod().isPresent()) {
+			classContext = classContext.getParent().orElseThrow();
+		}
+		return sharedFork(classContext);
+	}
+	
+	private static Fork sharedFork(ExtensionContext context) {
+		return context.getStore(NAMESPACE).getOrComputeIfAbsent(Fork.class, key -> Fork.create(), Fork.class);
+	}
+	
+	private static class Fork implements CloseableResource {
+		
+		final String id;
+		
+		Fork(String id) {
+			this.id = id;
+		}
+		
+		static Fork create() {
+			if (!forksExpected()) {
+				// shared data, serialized by ForkedDataLocks
+				return new Fork(null);
+			}
+			Response response = given().spec(SpecUtil.anonymous()).post("/forks");
+			if (response.statusCode() == 404) {
+				throw new IllegalStateException("POST /forks returned 404 but data forks were expected; run with -D"
+						+ FORKS_PROPERTY + "=false to test on the shared data, one data-changing test at a time");
+			}
+			if (response.statusCode() != 201) {
+				throw new IllegalStateException("POST /forks returned " + response.statusCode());
+			}
+			return new Fork(response.jsonPath().getString("id"));
+		}
+		
+		@Override
+		public void close() {
+			if (id != null) {
+				given().spec(SpecUtil.anonymous()).delete("/forks/{id}", id);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLocksProvider;
+
+/**
+ * Serializes {@link ForkedData} tests when the backend offers no data forks
+ * (see {@link ForkedDataExtension#forksExpected()}): they then change the
+ * shared data, so they all take one {@code @ResourceLock} key and never run
+ * at the same time. With forks nothing is locked. Declared on the test
+ * classes through {@code @ResourceLock(providers = ForkedDataLocks.class)}.
+ */
+public class ForkedDataLocks implements ResourceLocksProvider {
+
+	public static final String SHARED_DATA = "dscommerce.shared-data";
+
+	@Override
+	public Set<Lock> provideForMethod(List<Class<?>> enclosingInstanceTypes, Class<?> testClass, Method testMethod) {
+		boolean forked = testMethod.isAnnotationPresent(ForkedData.class) || testClass.isAnnotationPresent(ForkedData.class);
+		if (!forked || ForkedDataExtension.forksExpected()) {
+			return Set.of();
+		}
+		return Set.of(new Lock(SHARED_DATA, ResourceAccessMode.READ_WRITE));
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Prints harness statistics once the whole test plan has run. Registered
+ * through META-INF/services so every test class is covered without edits.
+ * 
+ * When the plan holds RA tests it also resolves the base URI up front, so the
+ * stand-in server boots before any test is timed rather than inside the
+ * first one, with every concurrent test blocked behind it.
+ */
+public class HarnessReportListener implements TestExecutionListener {
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		boolean restAssured = testPlan.getRoots().stream()
+				.flatMap(root -> testPlan.getDescendants(root).stream())
+				.map(test -> test.getSource().orElse(null))
+				.anyMatch(source -> source instanceof ClassSource classSource && classSource.getClassName().endsWith("RA"));
+		if (restAssured) {
+			SpecUtil.baseUri();
+		}
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		TokenCache cache = TokenUtil.tokenCache();
+		if (cache.hits() + cache.misses() > 0) {
+			System.out.println("[harness] token cache: " + cache.hits() + " hits, " + cache.misses()
+					+ (TokenUtil.isMinting() ? " tokens minted locally" : " fetches from /oauth2/token"));
+		}
+		if (HttpClientPool.connectionsOpened() > 0) {
+			System.out.println("[harness] connections: " + HttpClientPool.connectionsOpened() + " opened, " + HttpClientPool.connectionsReused() + " reused");
+		}
+		System.out.print(ConditionalCache.instance().report());
+		if (StandInServer.startupMillis() > 0) {
+			System.out.println("[harness] server startup: " + StandInServer.startupMillis() + " ms, charged to no test");
+		}
+		System.out.print(PhaseTimer.report(Integer.getInteger("phase.report.top", 10)));
+		try {
+			String traffic = TrafficFilter.instance().close();
+			if (traffic != null) {
+				System.out.println("[harness] " + traffic);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		RequestLatencyFilter latency = RequestLatencyFilter.instance();
+		if (!latency.isEmpty()) {
+			try {
+				Path directory = latency.writeReports(Path.of(System.getProperty("ra.latency.output", "target/ra-latency")));
+				System.out.println("[harness] per-endpoint latency written to " + directory.toAbsolutePath());
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+
+/**
+ * Keep-alive connection pool shared by every RestAssured request of the
+ * harness (the RA classes through {@link SpecUtil}, and {@link TokenUtil}).
+ * 
+ * RestAssured builds a new Apache client per request; here each of those
+ * clients borrows from one bounded pool, so consecutive and concurrent
+ * requests reuse open connections instead of paying TCP setup every time.
+ * Limits and timeouts come from system properties: http.maxTotal (64),
+ * http.maxPerRoute (32), http.connectTimeout and http.socketTimeout in ms
+ * (5000, 30000).
+ */
+@SuppressWarnings("deprecation")
+public class HttpClientPool {
+	
+	private static final int CONNECT_TIMEOUT = Integer.getInteger("http.connectTimeout", 5000);
+	private static final int SOCKET_TIMEOUT = Integer.getInteger("http.socketTimeout", 30000);
+	
+	private static final LongAdder OPENED = new LongAdder();
+	private static final LongAdder REUSED = new LongAdder();
+	
+	private static final SharedConnectionManager MANAGER = new SharedConnectionManager(
+			Integer.getInteger("http.maxTotal", 64),
+			Integer.getInteger("http.maxPerRoute", 32));
+	
+	private static final RestAssuredConfig CONFIG = RestAssuredConfig.config()
+			.httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(HttpClientPool::newClient));
+	
+	public static RestAssuredConfig restAssuredConfig() {
+		return CONFIG;
+	}
+	
+	public static long connectionsOpened() {
+		return OPENED.sum();
+	}
+	
+	public static long connectionsReused() {
+		return REUSED.sum();
+	}
+	
+	private static HttpClient newClient() {
+		DefaultHttpClient client = new DefaultHttpClient(MANAGER);
+		HttpParams params = client.getParams();
+		HttpConnectionParams.setConnectionTimeout(params, CONNECT_TIMEOUT);
+		HttpConnectionParams.setSoTimeout(params, SOCKET_TIMEOUT);
+		HttpConnectionParams.setStaleCheckingEnabled(params, true);
+		return client;
+	}
+	
+	/**
+	 * Pool that counts whether leased connections were already open, and that
+	 * outlives the short-lived clients RestAssured shuts down after use.
+	 */
+	private static class SharedConnectionManager extends PoolingClientConnectionManager {
+		
+		SharedConnectionManager(int maxTotal, int maxPerRoute) {
+			setMaxTotal(maxTotal);
+			setDefaultMaxPerRoute(maxPerRoute);
+		}
+		
+		@Override
+		public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+			ClientConnectionRequest request = super.requestConnection(route, state);
+			return new ClientConnectionRequest() {
+				
+				@Override
+				public ManagedClientConnection getConnection(long timeout, TimeUnit unit) throws InterruptedException, ConnectionPoolTimeoutException {
+					ManagedClientConnection connection = request.getConnection(timeout, unit);
+					(connection.isOpen() ? REUSED : OPENED).increment();
+					return connection;
+				}
+				
+				@Override
+				public void abortRequest() {
+					request.abortRequest();
+				}
+			};
+		}
+		
+		@Override
+		public void shutdown() {
+			// shared by all clients: only closed with the JVM
+			closeExpiredConnections();
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+
+/**
+ * Path such as {@code content[*].price}, {@code content[0].name} or
+ * {@code categories.id}, matched against the parser position while streaming.
+ * 
+ * As in GPath, a field name applied to an array spreads over its elements,
+ * so {@code content.name} is the same as {@code content[*].name}.
+ */
+final class JsonPathPattern {
+
+	private static final Object WILDCARD = new Object();
+
+	private final Object[] segments;
+
+	private JsonPathPattern(Object[] segments) {
+		this.segments = segments;
+	}
+
+	static JsonPathPattern parse(String path) {
+		List<Object> segments = new ArrayList<>();
+		for (String part : path.trim().split("\\.")) {
+			int bracket = part.indexOf('[');
+			String name = bracket < 0 ? part : part.substring(0, bracket);
+			if (!name.isEmpty()) {
+				segments.add(name);
+			}
+			while (bracket >= 0) {
+				int close = part.indexOf(']', bracket);
+				if (close < 0) {
+					throw new IllegalArgumentException("Unbalanced brackets in path: " + path);
+				}
+				String index = part.substring(bracket + 1, close).trim();
+				segments.add(index.equals("*") ? WILDCARD : Integer.valueOf(index));
+				bracket = part.indexOf('[', close);
+			}
+		}
+		if (segments.isEmpty()) {
+			throw new IllegalArgumentException("Empty path");
+		}
+		return new JsonPathPattern(segments.toArray());
+	}
+
+	/**
+	 * Pattern addressing the elements of the array this pattern points at.
+	 */
+	JsonPathPattern elements() {
+		Object last = segments[segments.length - 1];
+		if (last == WILDCARD || last instanceof Integer) {
+			return this;
+		}
+		Object[] copy = new Object[segments.length + 1];
+		System.arraycopy(segments, 0, copy, 0, segments.length);
+		copy[segments.length] = WILDCARD;
+		return new JsonPathPattern(copy);
+	}
+
+	/**
+	 * Whether the value the parser is positioned on (described by its parsing
+	 * context) is addressed by this pattern. Walks the context chain from the
+	 * leaf upwards, without allocating.
+	 */
+	boolean matches(JsonStreamContext context) {
+		return matches(context, segments.length - 1);
+	}
+
+	private boolean matches(JsonStreamContext ctx, int i) {
+		if (ctx == null || ctx.inRoot()) {
+			return i < 0;
+		}
+		if (ctx.inObject()) {
+			return i >= 0 && segments[i].equals(ctx.getCurrentName()) && matches(ctx.getParent(), i - 1);
+		}
+		int index = ctx.getCurrentIndex();
+		if (i >= 0 && (segments[i] == WILDCARD || segments[i].equals(index)) && matches(ctx.getParent(), i - 1)) {
+			return true;
+		}
+		// implicit spread over array elements
+		return matches(ctx.getParent(), i);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Object segment : segments) {
+			if (segment instanceof String name) {
+				sb.append(sb.length() == 0 ? "" : ".").append(name);
+			}
+			else {
+				sb.append('[').append(segment == WILDCARD ? "*" : segment).append(']');
+			}
+		}
+		return sb.toString();
+	}
+
+}
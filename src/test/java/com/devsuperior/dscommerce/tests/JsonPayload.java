@@ -0,0 +1,88 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Immutable JSON request body, serialized once when created.
+ * 
+ * {@link #with(String, Object)} returns a copy with one field replaced; the
+ * copy is memoized, so asking for the same variant again costs a map lookup.
+ * Instances are safe to share between threads. The array returned by
+ * {@link #bytes()} is shared as well and must not be modified.
+ */
+public final class JsonPayload {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private record FieldValue(String field, Object value) {
+	}
+
+	private final Map<String, Object> fields;
+	private final byte[] bytes;
+	private final ConcurrentHashMap<FieldValue, JsonPayload> variants = new ConcurrentHashMap<>();
+
+	private JsonPayload(Map<String, Object> fields) {
+		this.fields = Collections.unmodifiableMap(fields);
+		try {
+			this.bytes = MAPPER.writeValueAsBytes(this.fields);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Payload is not serializable to JSON", e);
+		}
+	}
+
+	public static JsonPayload of(Map<String, ?> fields) {
+		return new JsonPayload(new LinkedHashMap<>(fields));
+	}
+
+	public JsonPayload with(String field, Object value) {
+		return variants.computeIfAbsent(new FieldValue(field, value), o -> {
+			Map<String, Object> copy = new LinkedHashMap<>(fields);
+			copy.put(o.field(), o.value());
+			return new JsonPayload(copy);
+		});
+	}
+
+	/**
+	 * JSON array of the payloads, joined from their serialized bytes.
+	 */
+	public static byte[] array(List<JsonPayload> payloads) {
+		ByteArrayOutputStream array = new ByteArrayOutputStream();
+		array.write('[');
+		for (int i = 0; i < payloads.size(); i++) {
+			if (i > 0) {
+				array.write(',');
+			}
+			array.writeBytes(payloads.get(i).bytes());
+		}
+		array.write(']');
+		return array.toByteArray();
+	}
+
+	public byte[] bytes() {
+		return bytes;
+	}
+
+	public Object get(String field) {
+		return fields.get(field);
+	}
+
+	public Map<String, Object> asMap() {
+		return fields;
+	}
+
+	@Override
+	public String toString() {
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscommerce.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class JsonPayloadTest {
+	
+	@Test
+	public void withShouldReturnVariantWithoutChangingOriginal() {
+		JsonPayload variant = Fixtures.POST_PRODUCT.with("price", -50.0);
+		
+		assertEquals(-50.0, variant.get("price"));
+		assertEquals(50.0, Fixtures.POST_PRODUCT.get("price"));
+		assertTrue(new String(variant.bytes(), StandardCharsets.UTF_8).contains("\"price\":-50.0"));
+		assertTrue(new String(Fixtures.POST_PRODUCT.bytes(), StandardCharsets.UTF_8).contains("\"price\":50.0"));
+	}
+	
+	@Test
+	public void withShouldReuseSameVariantInstance() {
+		assertSame(Fixtures.POST_ORDER.with("items", null), Fixtures.POST_ORDER.with("items", null));
+	}
+	
+	@Test
+	public void bytesShouldKeepFieldOrder() {
+		assertEquals("{\"items\":[{\"productId\":1,\"quantity\":2},{\"productId\":5,\"quantity\":1}]}", Fixtures.POST_ORDER.toString());
+	}
+	
+	@Test
+	public void arrayShouldJoinPayloadsInOrder() {
+		JsonPayload first = JsonPayload.of(Fixtures.map("id", 1));
+		JsonPayload second = JsonPayload.of(Fixtures.map("id", 2));
+		
+		assertEquals("[{\"id\":1},{\"id\":2}]", new String(JsonPayload.array(List.of(first, second)), StandardCharsets.UTF_8));
+		assertEquals("[]", new String(JsonPayload.array(List.of()), StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void asMapShouldBeUnmodifiable() {
+		assertThrows(UnsupportedOperationException.class, () -> Fixtures.PUT_PRODUCT.asMap().put("name", "x"));
+	}
+
+}
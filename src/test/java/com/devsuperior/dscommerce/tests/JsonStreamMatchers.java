@@ -0,0 +1,296 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Hamcrest matchers that evaluate simple path predicates over a JSON body in
+ * a single streaming pass, without building a GPath tree of the document.
+ * They plug into RestAssured's body matcher:
+ * 
+ * <pre>
+ * .then()
+ *     .body(values("content[*].name", hasItems("Macbook Pro", "PC Gamer Tera")))
+ *     .body(value("content[0].id", is(3)))
+ *     .body(each("content").where("price", greaterThan(2000)).values("name", hasItems("Smart TV")));
+ * </pre>
+ * 
+ * Numbers come out the way RestAssured's JsonPath returns them by default
+ * (Integer/Long for integers, Float for decimals), so the matchers already
+ * used with GPath keep working. For range checks use
+ * {@link #greaterThan(double)} and {@link #lessThan(double)}, which compare
+ * any numeric type.
+ */
+public final class JsonStreamMatchers {
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	private JsonStreamMatchers() {
+	}
+
+	/**
+	 * Matches the list of all scalar values addressed by the path.
+	 */
+	public static Matcher<String> values(String path, Matcher<?> matcher) {
+		return new ValuesMatcher(JsonPathPattern.parse(path), matcher, false);
+	}
+
+	/**
+	 * Matches the first scalar value addressed by the path (null if none).
+	 */
+	public static Matcher<String> value(String path, Matcher<?> matcher) {
+		return new ValuesMatcher(JsonPathPattern.parse(path), matcher, true);
+	}
+
+	/**
+	 * Starts a filter over the objects of the array at the given path.
+	 */
+	public static ElementFilter each(String arrayPath) {
+		return new ElementFilter(JsonPathPattern.parse(arrayPath).elements(), new LinkedHashMap<>());
+	}
+
+	public static Matcher<Object> greaterThan(double bound) {
+		return new NumericMatcher(bound, true);
+	}
+
+	public static Matcher<Object> lessThan(double bound) {
+		return new NumericMatcher(bound, false);
+	}
+
+	public static final class ElementFilter {
+
+		private final JsonPathPattern elements;
+		private final Map<String, Matcher<?>> predicates;
+
+		private ElementFilter(JsonPathPattern elements, Map<String, Matcher<?>> predicates) {
+			this.elements = elements;
+			this.predicates = predicates;
+		}
+
+		/**
+		 * Keeps elements whose direct field matches; predicates are combined with AND.
+		 */
+		public ElementFilter where(String field, Matcher<?> predicate) {
+			Map<String, Matcher<?>> copy = new LinkedHashMap<>(predicates);
+			copy.put(field, predicate);
+			return new ElementFilter(elements, copy);
+		}
+
+		/**
+		 * Matches the list of the given field of the kept elements.
+		 */
+		public Matcher<String> values(String field, Matcher<?> matcher) {
+			return new ElementMatcher(elements, predicates, field, matcher);
+		}
+
+	}
+
+	private static abstract class StreamingMatcher extends TypeSafeDiagnosingMatcher<String> {
+
+		@Override
+		protected boolean matchesSafely(String body, Description mismatch) {
+			Object actual;
+			try (JsonParser parser = FACTORY.createParser(body)) {
+				actual = evaluate(parser);
+			}
+			catch (IOException e) {
+				mismatch.appendText("body is not valid JSON: ").appendText(e.getMessage());
+				return false;
+			}
+			if (!matcher().matches(actual)) {
+				mismatch.appendText(describeSubject()).appendText(" ");
+				matcher().describeMismatch(actual, mismatch);
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		public void describeTo(Description description) {
+			description.appendText(describeSubject()).appendText(" ").appendDescriptionOf(matcher());
+		}
+
+		abstract Object evaluate(JsonParser parser) throws IOException;
+
+		abstract Matcher<?> matcher();
+
+		abstract String describeSubject();
+
+	}
+
+	private static final class ValuesMatcher extends StreamingMatcher {
+
+		private final JsonPathPattern pattern;
+		private final Matcher<?> matcher;
+		private final boolean first;
+
+		ValuesMatcher(JsonPathPattern pattern, Matcher<?> matcher, boolean first) {
+			this.pattern = pattern;
+			this.matcher = matcher;
+			this.first = first;
+		}
+
+		@Override
+		Object evaluate(JsonParser parser) throws IOException {
+			List<Object> values = new ArrayList<>();
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token.isScalarValue() && pattern.matches(parser.getParsingContext())) {
+					Object value = scalar(parser, token);
+					if (first) {
+						return value;
+					}
+					values.add(value);
+				}
+			}
+			return first ? null : values;
+		}
+
+		@Override
+		Matcher<?> matcher() {
+			return matcher;
+		}
+
+		@Override
+		String describeSubject() {
+			return (first ? "value at " : "values at ") + pattern;
+		}
+
+	}
+
+	private static final class ElementMatcher extends StreamingMatcher {
+
+		private final JsonPathPattern elements;
+		private final Map<String, Matcher<?>> predicates;
+		private final String field;
+		private final Matcher<?> matcher;
+
+		ElementMatcher(JsonPathPattern elements, Map<String, Matcher<?>> predicates, String field, Matcher<?> matcher) {
+			this.elements = elements;
+			this.predicates = Map.copyOf(predicates);
+			this.field = field;
+			this.matcher = matcher;
+		}
+
+		@Override
+		Object evaluate(JsonParser parser) throws IOException {
+			List<Object> selected = new ArrayList<>();
+			Map<String, Object> current = new HashMap<>();
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.START_OBJECT && elements.matches(parser.getParsingContext().getParent())) {
+					current.clear();
+					collectElement(parser, current);
+					if (accept(current)) {
+						selected.add(current.get(field));
+					}
+				}
+			}
+			return selected;
+		}
+
+		// reads the element up to its END_OBJECT, keeping only the direct fields we need
+		private void collectElement(JsonParser parser, Map<String, Object> fields) throws IOException {
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_OBJECT) {
+				String name = parser.currentName();
+				token = parser.nextToken();
+				if (token.isStructStart()) {
+					parser.skipChildren();
+				}
+				else if (name.equals(field) || predicates.containsKey(name)) {
+					fields.put(name, scalar(parser, token));
+				}
+			}
+		}
+
+		private boolean accept(Map<String, Object> fields) {
+			for (Map.Entry<String, Matcher<?>> predicate : predicates.entrySet()) {
+				if (!predicate.getValue().matches(fields.get(predicate.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		Matcher<?> matcher() {
+			return matcher;
+		}
+
+		@Override
+		String describeSubject() {
+			StringBuilder sb = new StringBuilder("values of \"").append(field).append("\" in ").append(elements);
+			if (!predicates.isEmpty()) {
+				sb.append(" where ").append(predicates.keySet());
+			}
+			return sb.toString();
+		}
+
+	}
+
+	private static final class NumericMatcher extends TypeSafeDiagnosingMatcher<Object> {
+
+		private final double bound;
+		private final boolean greater;
+
+		NumericMatcher(double bound, boolean greater) {
+			this.bound = bound;
+			this.greater = greater;
+		}
+
+		@Override
+		protected boolean matchesSafely(Object item, Description mismatch) {
+			if (!(item instanceof Number number)) {
+				mismatch.appendText("was ").appendValue(item);
+				return false;
+			}
+			double value = number.doubleValue();
+			if (greater ? value > bound : value < bound) {
+				return true;
+			}
+			mismatch.appendText("was ").appendValue(item);
+			return false;
+		}
+
+		@Override
+		public void describeTo(Description description) {
+			description.appendText(greater ? "a number greater than " : "a number less than ").appendValue(bound);
+		}
+
+	}
+
+	private static Object scalar(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+		case VALUE_STRING:
+			return parser.getText();
+		case VALUE_NUMBER_INT:
+			return parser.getNumberType() == JsonParser.NumberType.INT ? parser.getIntValue() : parser.getNumberValue();
+		case VALUE_NUMBER_FLOAT:
+			double d = parser.getDoubleValue();
+			return Math.abs(d) <= Float.MAX_VALUE ? (Object) (float) d : (Object) d;
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		case VALUE_NULL:
+			return null;
+		default:
+			throw new UncheckedIOException(new IOException("Unexpected token " + token));
+		}
+	}
+
+}
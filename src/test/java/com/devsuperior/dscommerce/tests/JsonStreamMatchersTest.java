@@ -0,0 +1,60 @@
+package com.devsuperior.dscommerce.tests;
+
+import static com.devsuperior.dscommerce.tests.JsonStreamMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.Test;
+
+public class JsonStreamMatchersTest {
+	
+	private static final String PAGE = """
+			{"content":[
+			  {"id":2,"name":"Smart TV","price":2190.0,"categories":[{"id":2,"name":"Eletrônicos"},{"id":3,"name":"Computadores"}]},
+			  {"id":3,"name":"Macbook Pro","price":1250.0,"categories":[{"id":3,"name":"Computadores"}]},
+			  {"id":15,"name":"PC Gamer Weed","price":2200.0,"categories":[{"id":3,"name":"Computadores"}]}
+			],"totalElements":3,"last":true}
+			""";
+	
+	@Test
+	public void valuesShouldCollectAllMatchesOfWildcardPath() {
+		assertThat(PAGE, values("content[*].name", contains("Smart TV", "Macbook Pro", "PC Gamer Weed")));
+	}
+	
+	@Test
+	public void valuesShouldSpreadImplicitlyOverArraysLikeGPath() {
+		assertThat(PAGE, values("content.id", hasItems(2, 3)));
+		assertThat(PAGE, values("content.categories.name", hasItems("Eletrônicos", "Computadores")));
+	}
+	
+	@Test
+	public void valueShouldReturnFirstMatchWithGPathNumberTypes() {
+		assertThat(PAGE, value("content[1].id", is(3)));
+		assertThat(PAGE, value("content[1].price", is(1250.0F)));
+		assertThat(PAGE, value("totalElements", is(3)));
+		assertThat(PAGE, value("last", is(true)));
+		assertThat(PAGE, value("missing", nullValue()));
+	}
+	
+	@Test
+	public void eachShouldFilterElementsByNumericPredicate() {
+		assertThat(PAGE, each("content").where("price", greaterThan(2000)).values("name", contains("Smart TV", "PC Gamer Weed")));
+		assertThat(PAGE, each("content").where("price", lessThan(2000)).where("id", is(3)).values("name", contains("Macbook Pro")));
+	}
+	
+	@Test
+	public void matcherShouldDescribeMismatch() {
+		Matcher<String> matcher = values("content.name", hasItem("Geladeira"));
+		
+		assertFalse(matcher.matches(PAGE));
+		assertTrue(matcher.toString().contains("content.name"));
+	}
+	
+	@Test
+	public void matcherShouldRejectInvalidJson() {
+		assertFalse(values("content.name", anything()).matches("<html>"));
+	}
+
+}
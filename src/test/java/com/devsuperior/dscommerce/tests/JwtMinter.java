@@ -0,0 +1,84 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+import com.devsuperior.dscommerce.security.JwtCodec;
+import com.devsuperior.dscommerce.security.TokenClaims;
+
+/**
+ * Mints access tokens locally with the stand-in server's signing key
+ * (security.jwt.secret from -D or application.properties), so the harness
+ * never needs the password grant. The broken variants for 401 tests use fixed
+ * timestamps and are therefore identical on every run.
+ */
+public final class JwtMinter {
+	
+	private static final JwtCodec CODEC = new JwtCodec(secret().getBytes(StandardCharsets.UTF_8));
+	private static final JwtCodec FOREIGN_CODEC = new JwtCodec("a-key-the-server-does-not-know".getBytes(StandardCharsets.UTF_8));
+	
+	private static final Instant FIXED_ISSUED_AT = Instant.parse("2022-07-25T13:00:00Z");
+	private static final Instant FAR_FUTURE = Instant.parse("2100-01-01T00:00:00Z");
+	
+	private JwtMinter() {
+	}
+	
+	public static String mint(TestUser user, Duration lifetime) {
+		Instant now = Instant.now();
+		return CODEC.encode(claims(user, now, now.plus(lifetime)));
+	}
+	
+	/**
+	 * Correctly signed token that expired in 2022.
+	 */
+	public static String expired(TestUser user) {
+		return CODEC.encode(claims(user, FIXED_ISSUED_AT, FIXED_ISSUED_AT.plus(Duration.ofHours(1))));
+	}
+	
+	/**
+	 * Valid token of the user whose payload was swapped for one granting
+	 * ROLE_ADMIN, keeping the original signature.
+	 */
+	public static String tampered(TestUser user) {
+		String token = CODEC.encode(claims(user, FIXED_ISSUED_AT, FAR_FUTURE));
+		String forged = CODEC.encode(new TokenClaims(user.getUsername(), List.of("ROLE_CLIENT", "ROLE_ADMIN"), FIXED_ISSUED_AT, FAR_FUTURE));
+		String[] parts = token.split("\\.");
+		String forgedPayload = forged.split("\\.")[1];
+		return parts[0] + "." + forgedPayload + "." + parts[2];
+	}
+	
+	/**
+	 * Unexpired token signed with a key the server doesn't trust.
+	 */
+	public static String wrongSignature(TestUser user) {
+		return FOREIGN_CODEC.encode(claims(user, FIXED_ISSUED_AT, FAR_FUTURE));
+	}
+	
+	private static TokenClaims claims(TestUser user, Instant issuedAt, Instant expiresAt) {
+		return new TokenClaims(user.getUsername(), user.getRoles(), issuedAt, expiresAt);
+	}
+	
+	private static String secret() {
+		String secret = System.getProperty("security.jwt.secret");
+		if (secret != null) {
+			return secret;
+		}
+		try (InputStream in = JwtMinter.class.getResourceAsStream("/application.properties")) {
+			Properties properties = new Properties();
+			if (in != null) {
+				properties.load(in);
+			}
+			return properties.getProperty("security.jwt.secret", "");
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Latency budget of a read-only RA test: after the test has passed once, the
+ * requests it sent are sent again {@link #warmup()} times unmeasured and then
+ * {@link #repeats()} times while their time is recorded, and it fails when
+ * the {@link #percentile()} of those runs exceeds {@link #millis()}.
+ * 
+ * Budgets can be scaled on slow machines with -Dlatency.budget.factor=2 and
+ * switched off with -Dlatency.budget.enabled=false.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+	
+	long millis();
+	
+	double percentile() default 95.0;
+	
+	int warmup() default 5;
+	
+	int repeats() default 30;
+
+}
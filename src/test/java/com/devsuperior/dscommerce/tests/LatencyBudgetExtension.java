@@ -0,0 +1,83 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.opentest4j.AssertionFailedError;
+
+import com.devsuperior.dscommerce.load.EndpointStats;
+import com.devsuperior.dscommerce.tests.RequestLatencyFilter.SentRequest;
+
+/**
+ * Enforces {@link LatencyBudget}. The test runs once, assertions included,
+ * while {@link RequestLatencyFilter} captures the requests it sends; the
+ * warm-up and measured runs then send those same requests again, in order,
+ * without running the test body, so only request time is measured. Since
+ * requests are repeated, a budgeted test may only send safe ones (GET, HEAD,
+ * OPTIONS). Budgets are not checked while replaying recorded traffic.
+ */
+public class LatencyBudgetExtension implements InvocationInterceptor {
+	
+	private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("latency.budget.enabled", "true"));
+	private static final double FACTOR = Double.parseDouble(System.getProperty("latency.budget.factor", "1.0"));
+	
+	@Override
+	public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		LatencyBudget budget = invocationContext.getExecutable().getAnnotation(LatencyBudget.class);
+		if (!ENABLED || budget == null || TrafficFilter.isReplaying()) {
+			invocation.proceed();
+			return;
+		}
+		List<SentRequest> requests = RequestLatencyFilter.captureRequests(invocation::proceed);
+		for (SentRequest request : requests) {
+			if (!request.isSafe()) {
+				throw new IllegalStateException("@LatencyBudget repeats the requests of a test, but "
+						+ invocationContext.getExecutable().getName() + " sent " + request.method() + " " + request.uri());
+			}
+		}
+		for (int i = 0; i < budget.warmup(); i++) {
+			resend(requests);
+		}
+		Histogram histogram = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+		for (int i = 0; i < budget.repeats(); i++) {
+			long nanos = RequestLatencyFilter.captureNanos(() -> resend(requests));
+			histogram.recordValue(Math.min(histogram.getHighestTrackableValue(), nanos));
+		}
+		double limit = budget.millis() * FACTOR;
+		double observed = histogram.getValueAtPercentile(budget.percentile()) / 1e6;
+		if (observed > limit) {
+			throw new AssertionFailedError(String.format(Locale.ROOT,
+					"Latency p%s was %.2f ms, budget %.2f ms (%d runs after %d warm-up): %s",
+					format(budget.percentile()), observed, limit, budget.repeats(), budget.warmup(), summary(histogram)));
+		}
+	}
+	
+	private static void resend(List<SentRequest> requests) {
+		for (SentRequest request : requests) {
+			request.resend();
+		}
+	}
+	
+	private static String summary(Histogram histogram) {
+		StringBuilder summary = new StringBuilder();
+		for (Map.Entry<String, Object> entry : EndpointStats.percentiles(histogram).entrySet()) {
+			summary.append(summary.isEmpty() ? "" : ", ")
+					.append(entry.getKey()).append(' ')
+					.append(String.format(Locale.ROOT, "%.2f ms", (Double) entry.getValue()));
+		}
+		return summary.toString();
+	}
+	
+	private static String format(double percentile) {
+		return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+	}
+
+}
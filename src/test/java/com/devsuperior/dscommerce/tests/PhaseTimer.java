@@ -0,0 +1,162 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Splits the wall time of one test into phases: {@link Phase#SETUP}
+ * (@BeforeEach methods), {@link Phase#AUTH} (token lookups, including the
+ * /oauth2/token call on a cache miss), {@link Phase#REQUEST} (time inside the
+ * HTTP exchange) and {@link Phase#ASSERTION} (the rest of the test body,
+ * which is mostly response assertions). Each phase also gets the bytes the
+ * thread allocated while in it.
+ * 
+ * Time is charged exclusively: entering a nested phase pauses the enclosing
+ * one. A timer is only touched by the thread running its test, which binds it
+ * through {@link #run}.
+ */
+public class PhaseTimer {
+	
+	public enum Phase {
+		SETUP, AUTH, REQUEST, ASSERTION
+	}
+	
+	private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private static final boolean ALLOCATION = THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+	private static final ThreadLocal<PhaseTimer> CURRENT = new ThreadLocal<>();
+	private static final Queue<PhaseTimer> FINISHED = new ConcurrentLinkedQueue<>();
+	
+	private final String testName;
+	private final long[] nanos = new long[Phase.values().length];
+	private final long[] bytes = new long[Phase.values().length];
+	private Phase current;
+	private long since;
+	private long sinceBytes;
+	
+	public PhaseTimer(String testName) {
+		this.testName = testName;
+	}
+	
+	/**
+	 * Binds this timer to the calling thread and charges the action to the
+	 * given phase, minus whatever nested phases it enters.
+	 */
+	public <T> T run(Phase phase, ThrowingSupplier<T> action) throws Throwable {
+		PhaseTimer previous = CURRENT.get();
+		CURRENT.set(this);
+		Phase outer = enter(phase);
+		try {
+			return action.get();
+		}
+		finally {
+			exit(outer);
+			CURRENT.set(previous);
+		}
+	}
+	
+	/**
+	 * Charges the action to the phase on the timer bound to the calling thread,
+	 * if any. Requests made while resolving a token stay in {@link Phase#AUTH}.
+	 */
+	public static <T> T time(Phase phase, Supplier<T> action) {
+		PhaseTimer timer = CURRENT.get();
+		if (timer == null || timer.current == Phase.AUTH) {
+			return action.get();
+		}
+		Phase outer = timer.enter(phase);
+		try {
+			return action.get();
+		}
+		finally {
+			timer.exit(outer);
+		}
+	}
+	
+	public void finish() {
+		FINISHED.add(this);
+	}
+	
+	private Phase enter(Phase phase) {
+		Phase outer = current;
+		charge();
+		current = phase;
+		return outer;
+	}
+	
+	private void exit(Phase outer) {
+		charge();
+		current = outer;
+	}
+	
+	private void charge() {
+		long now = System.nanoTime();
+		long allocated = ALLOCATION ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+		if (current != null) {
+			nanos[current.ordinal()] += now - since;
+			bytes[current.ordinal()] += allocated - sinceBytes;
+		}
+		since = now;
+		sinceBytes = allocated;
+	}
+	
+	public long totalNanos() {
+		long total = 0;
+		for (long value : nanos) {
+			total += value;
+		}
+		return total;
+	}
+	
+	/**
+	 * Slowest finished tests with their phase split, followed by the suite-wide
+	 * cost of every phase.
+	 */
+	public static String report(int top) {
+		List<PhaseTimer> timers = new ArrayList<>(FINISHED);
+		if (timers.isEmpty()) {
+			return "";
+		}
+		timers.sort(Comparator.comparingLong(PhaseTimer::totalNanos).reversed());
+		StringBuilder report = new StringBuilder();
+		report.append(String.format(Locale.ROOT, "[harness] slowest tests (ms, allocated MB):%n"));
+		for (PhaseTimer timer : timers.subList(0, Math.min(top, timers.size()))) {
+			report.append(String.format(Locale.ROOT, "  %9.1f  %s%n", timer.totalNanos() / 1e6, timer.testName));
+			report.append("            ");
+			for (Phase phase : Phase.values()) {
+				report.append(String.format(Locale.ROOT, "%s %.1f (%.1f)  ", phase.name().toLowerCase(Locale.ROOT),
+						timer.nanos[phase.ordinal()] / 1e6, timer.bytes[phase.ordinal()] / 1e6));
+			}
+			report.append(System.lineSeparator());
+		}
+		long[] phaseNanos = new long[Phase.values().length];
+		long[] phaseBytes = new long[Phase.values().length];
+		long total = 0;
+		for (PhaseTimer timer : timers) {
+			for (Phase phase : Phase.values()) {
+				phaseNanos[phase.ordinal()] += timer.nanos[phase.ordinal()];
+				phaseBytes[phase.ordinal()] += timer.bytes[phase.ordinal()];
+			}
+			total += timer.totalNanos();
+		}
+		List<Phase> phases = new ArrayList<>(List.of(Phase.values()));
+		phases.sort(Comparator.comparingLong((Phase phase) -> phaseNanos[phase.ordinal()]).reversed());
+		report.append(String.format(Locale.ROOT, "[harness] phases over %d tests:%n", timers.size()));
+		for (Phase phase : phases) {
+			report.append(String.format(Locale.ROOT, "  %-9s %9.1f ms  %5.1f%%  %8.1f MB allocated%n", phase.name().toLowerCase(Locale.ROOT),
+					phaseNanos[phase.ordinal()] / 1e6, total == 0 ? 0.0 : 100.0 * phaseNanos[phase.ordinal()] / total,
+					phaseBytes[phase.ordinal()] / 1e6));
+		}
+		return report.toString();
+	}
+
+}
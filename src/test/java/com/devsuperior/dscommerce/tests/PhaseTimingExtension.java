@@ -0,0 +1,75 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.extension.DynamicTestInvocationContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import com.devsuperior.dscommerce.tests.PhaseTimer.Phase;
+
+/**
+ * Times every test with a {@link PhaseTimer}: @BeforeEach methods count as
+ * setup, the test method as assertion, and {@link RequestLatencyFilter} and
+ * the bearer filter of {@link SpecUtil} carve request and auth time out of
+ * it. Registered through META-INF/services with extension autodetection, so
+ * test classes need no annotation.
+ */
+public class PhaseTimingExtension implements InvocationInterceptor {
+	
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PhaseTimingExtension.class);
+	
+	@Override
+	public void interceptBeforeEachMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		timer(extensionContext).run(Phase.SETUP, invocation::proceed);
+	}
+	
+	@Override
+	public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		time(invocation, extensionContext);
+	}
+	
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		time(invocation, extensionContext);
+	}
+	
+	@Override
+	public void interceptDynamicTest(Invocation<Void> invocation, DynamicTestInvocationContext invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		// not from the store, whose lookup would find the timer of the factory's @BeforeEach
+		time(invocation, new PhaseTimer(name(extensionContext)));
+	}
+	
+	private static void time(Invocation<Void> invocation, ExtensionContext extensionContext) throws Throwable {
+		time(invocation, timer(extensionContext));
+	}
+	
+	private static void time(Invocation<Void> invocation, PhaseTimer timer) throws Throwable {
+		try {
+			timer.run(Phase.ASSERTION, invocation::proceed);
+		}
+		finally {
+			timer.finish();
+		}
+	}
+	
+	private static PhaseTimer timer(ExtensionContext context) {
+		return context.getStore(NAMESPACE).getOrComputeIfAbsent(PhaseTimer.class, key -> new PhaseTimer(name(context)), PhaseTimer.class);
+	}
+	
+	private static String name(ExtensionContext context) {
+		// repetitions and dynamic tests are named after their method plus their own display name
+		ExtensionContext method = context;
+		while (method.getElement().isEmpty() || method.getParent().flatMap(ExtensionContext::getTestMethod).isPresent()) {
+			method = method.getParent().orElseThrow();
+		}
+		return method.getRequiredTestClass().getSimpleName() + "." + method.getRequiredTestMethod().getName()
+				+ (method == context ? "" : " " + context.getDisplayName());
+	}
+
+}
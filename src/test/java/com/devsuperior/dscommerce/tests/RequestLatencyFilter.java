@@ -0,0 +1,236 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.function.Executable;
+
+import com.devsuperior.dscommerce.load.EndpointStats;
+import com.devsuperior.dscommerce.tests.PhaseTimer.Phase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Records latency, response size and status of every RestAssured request of
+ * the harness, grouped by method plus URI template ("GET /products/{id}").
+ * 
+ * Installed on every specification of {@link SpecUtil}. Recording goes to an
+ * HdrHistogram {@link ConcurrentHistogram}, which is wait-free for writers, so
+ * the parallel RA classes never contend on it. {@link HarnessReportListener}
+ * writes the JSON and CSV reports once the test plan has finished, into
+ * -Dra.latency.output (default target/ra-latency).
+ */
+public class RequestLatencyFilter implements Filter {
+	
+	private static final RequestLatencyFilter INSTANCE = new RequestLatencyFilter(true);
+	
+	/**
+	 * Times requests for {@link #captureNanos(Runnable)} without adding them
+	 * to the per-endpoint report, for requests the harness sends on its own
+	 * such as {@link SentRequest#resend()}.
+	 */
+	private static final RequestLatencyFilter TIMING_ONLY = new RequestLatencyFilter(false);
+	
+	private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+	private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+	
+	private static final ThreadLocal<long[]> CAPTURED = new ThreadLocal<>();
+	private static final ThreadLocal<List<SentRequest>> SENT = new ThreadLocal<>();
+	
+	private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+	private final boolean recording;
+	
+	private RequestLatencyFilter(boolean recording) {
+		this.recording = recording;
+	}
+	
+	public static RequestLatencyFilter instance() {
+		return INSTANCE;
+	}
+	
+	/**
+	 * Runs the action and returns the time the calling thread spent in
+	 * requests while it ran.
+	 */
+	public static long captureNanos(Runnable action) {
+		long[] previous = CAPTURED.get();
+		long[] captured = new long[1];
+		CAPTURED.set(captured);
+		try {
+			action.run();
+		}
+		finally {
+			CAPTURED.set(previous);
+		}
+		return captured[0];
+	}
+	
+	/**
+	 * Runs the action and returns the requests the calling thread sent while
+	 * it ran, as they went out, so they can be sent again without the action.
+	 */
+	static List<SentRequest> captureRequests(Executable action) throws Throwable {
+		List<SentRequest> previous = SENT.get();
+		List<SentRequest> sent = new ArrayList<>();
+		SENT.set(sent);
+		try {
+			action.execute();
+		}
+		finally {
+			SENT.set(previous);
+		}
+		return sent;
+	}
+	
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		String key = requestSpec.getMethod() + " " + template(requestSpec.getUserDefinedPath());
+		List<SentRequest> sent = SENT.get();
+		if (sent != null) {
+			sent.add(new SentRequest(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(), requestSpec.getBody()));
+		}
+		long start = System.nanoTime();
+		Response response = PhaseTimer.time(Phase.REQUEST, () -> ctx.next(requestSpec, responseSpec));
+		long elapsed = System.nanoTime() - start;
+		long[] captured = CAPTURED.get();
+		if (captured != null) {
+			captured[0] += elapsed;
+		}
+		// reading the body also hands the pooled connection back
+		byte[] body = response.asByteArray();
+		if (recording) {
+			endpoints.computeIfAbsent(key, k -> new Endpoint()).record(elapsed, response.statusCode(), body == null ? 0 : body.length);
+		}
+		return response;
+	}
+	
+	/**
+	 * Path as written in the test, without its query string, and with literal
+	 * numeric ids folded into {id} so "/products/2" and "/products/{id}" share
+	 * an entry.
+	 */
+	static String template(String userDefinedPath) {
+		String path = userDefinedPath == null || userDefinedPath.isEmpty() ? "/" : userDefinedPath;
+		int query = path.indexOf('?');
+		if (query >= 0) {
+			path = path.substring(0, query);
+		}
+		return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+	}
+	
+	public boolean isEmpty() {
+		return endpoints.isEmpty();
+	}
+	
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		new TreeMap<>(endpoints).forEach((key, endpoint) -> map.put(key, endpoint.toMap()));
+		return map;
+	}
+	
+	public Path writeReports(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+				.writeValue(directory.resolve("latency.json").toFile(), toMap());
+		Path csv = directory.resolve("latency.csv");
+		try (Writer writer = Files.newBufferedWriter(csv)) {
+			writer.write("endpoint,count,p50_ms,p90_ms,p99_ms,max_ms,mean_ms,mean_bytes,statuses\n");
+			for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+				writer.write(entry.getValue().csvLine(entry.getKey()));
+			}
+		}
+		return directory;
+	}
+	
+	/**
+	 * A request as it left the harness filters, credentials and data fork
+	 * included. {@link #resend()} sends it again, timed but not reported.
+	 */
+	record SentRequest(String method, String uri, Headers headers, Object body) {
+		
+		boolean isSafe() {
+			return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+		}
+		
+		Response resend() {
+			URI target = URI.create(uri);
+			RequestSpecification spec = RestAssured.given()
+					.config(HttpClientPool.restAssuredConfig())
+					.urlEncodingEnabled(false)
+					.baseUri(target.getScheme() + "://" + target.getRawAuthority())
+					.headers(headers)
+					.filter(TIMING_ONLY);
+			if (body != null) {
+				spec.body(body);
+			}
+			return spec.request(method, target.getRawPath() + (target.getRawQuery() == null ? "" : "?" + target.getRawQuery()));
+		}
+	}
+	
+	private static class Endpoint {
+		
+		private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+		private final LongAdder bytes = new LongAdder();
+		private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+		
+		void record(long nanos, int status, int size) {
+			latency.recordValue(Math.min(HIGHEST_TRACKABLE_NANOS, nanos));
+			bytes.add(size);
+			statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+		}
+		
+		double meanBytes() {
+			long count = latency.getTotalCount();
+			return count == 0 ? 0.0 : (double) bytes.sum() / count;
+		}
+		
+		Map<String, Long> statusCounts() {
+			Map<String, Long> counts = new TreeMap<>();
+			statuses.forEach((status, count) -> counts.put(String.valueOf(status), count.sum()));
+			return counts;
+		}
+		
+		Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("count", latency.getTotalCount());
+			map.put("latencyMs", EndpointStats.percentiles(latency));
+			map.put("meanBytes", meanBytes());
+			map.put("statuses", statusCounts());
+			return map;
+		}
+		
+		String csvLine(String key) {
+			StringBuilder statusColumn = new StringBuilder();
+			statusCounts().forEach((status, count) -> statusColumn.append(statusColumn.isEmpty() ? "" : " ").append(status).append('=').append(count));
+			return String.format(Locale.ROOT, "\"%s\",%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.1f,%s%n", key, latency.getTotalCount(),
+					latency.getValueAtPercentile(50) / 1e6, latency.getValueAtPercentile(90) / 1e6,
+					latency.getValueAtPercentile(99) / 1e6, latency.getMaxValue() / 1e6,
+					latency.getMean() / 1e6, meanBytes(), statusColumn);
+		}
+	}
+
+}
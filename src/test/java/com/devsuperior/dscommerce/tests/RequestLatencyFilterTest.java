@@ -0,0 +1,30 @@
+package com.devsuperior.dscommerce.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class RequestLatencyFilterTest {
+	
+	@Test
+	public void templateShouldKeepUserDefinedPathParameters() {
+		assertEquals("/products/{id}", RequestLatencyFilter.template("/products/{id}"));
+	}
+	
+	@Test
+	public void templateShouldFoldLiteralIds() {
+		assertEquals("/products/{id}", RequestLatencyFilter.template("/products/25"));
+		assertEquals("/orders/{id}/items", RequestLatencyFilter.template("/orders/3/items"));
+	}
+	
+	@Test
+	public void templateShouldDropQueryString() {
+		assertEquals("/products", RequestLatencyFilter.template("/products?name={productName}"));
+	}
+	
+	@Test
+	public void templateShouldKeepNonNumericSegments() {
+		assertEquals("/oauth2/token", RequestLatencyFilter.template("/oauth2/token"));
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.devsuperior.dscommerce.tests.PhaseTimer.Phase;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import io.restassured.specification.SpecificationQuerier;
+
+/**
+ * Request and response specifications shared by the RA tests.
+ * 
+ * Every specification is built once and never mutated afterwards, so tests
+ * can use them from any thread with {@code given().spec(...)} instead of the
+ * static {@code RestAssured.baseURI}. Authenticated specifications resolve the
+ * bearer token per request through {@link TokenUtil}, which keeps them valid
+ * when a cached token gets refreshed. All of them time their requests through
+ * {@link RequestLatencyFilter}, send the data fork of {@link ForkedData}
+ * tests, and go through {@link TrafficFilter} for record/replay. Only
+ * {@link #revalidating()} answers repeated GETs from {@link ConditionalCache}.
+ */
+public class SpecUtil {
+	
+	public static final String BASE_URI_PROPERTY = "api.baseUri";
+	
+	private static final RequestSpecification ANONYMOUS = anonymous(ConditionalCache.isOnEverySpec());
+	
+	private static final RequestSpecification REVALIDATING = anonymous(true);
+	
+	private static final RequestSpecification INVALID_TOKEN = json(bearer(() -> TestUser.ADMIN.accessToken() + "xpto"));
+	
+	private static final RequestSpecification EXPIRED_TOKEN = json(bearer(() -> JwtMinter.expired(TestUser.ADMIN)));
+	
+	private static final RequestSpecification TAMPERED_TOKEN = json(bearer(() -> JwtMinter.tampered(TestUser.CLIENT)));
+	
+	private static final RequestSpecification WRONG_SIGNATURE_TOKEN = json(bearer(() -> JwtMinter.wrongSignature(TestUser.ADMIN)));
+	
+	private static final Map<TestUser, RequestSpecification> AUTHENTICATED = new EnumMap<>(TestUser.class);
+	
+	private static final ResponseSpecification JSON_RESPONSE = new ResponseSpecBuilder()
+			.expectContentType(ContentType.JSON)
+			.build();
+	
+	static {
+		for (TestUser user : TestUser.values()) {
+			AUTHENTICATED.put(user, json(bearer(user::accessToken)));
+		}
+	}
+	
+	/**
+	 * API under test: the backend given by -Dapi.baseUri (for example
+	 * http://localhost:8080) or, by default, the in-process stand-in server.
+	 * Nothing is contacted when replaying recorded traffic.
+	 */
+	public static String baseUri() {
+		if (TrafficFilter.isReplaying()) {
+			return TrafficFilter.REPLAY_BASE_URI;
+		}
+		String baseUri = System.getProperty(BASE_URI_PROPERTY);
+		return baseUri == null || baseUri.isBlank() ? StandInServer.baseUri() : baseUri;
+	}
+	
+	public static RequestSpecification anonymous() {
+		return ANONYMOUS;
+	}
+	
+	/**
+	 * Anonymous specification whose repeated GETs go through
+	 * {@link ConditionalCache}, for tests and benchmarks of revalidation.
+	 */
+	public static RequestSpecification revalidating() {
+		return REVALIDATING;
+	}
+	
+	public static RequestSpecification as(TestUser user) {
+		return AUTHENTICATED.get(user);
+	}
+	
+	public static RequestSpecification client() {
+		return as(TestUser.CLIENT);
+	}
+	
+	public static RequestSpecification admin() {
+		return as(TestUser.ADMIN);
+	}
+	
+	public static RequestSpecification adminOnly() {
+		return as(TestUser.ADMIN_ONLY);
+	}
+	
+	public static RequestSpecification invalidToken() {
+		return INVALID_TOKEN;
+	}
+	
+	public static RequestSpecification expiredToken() {
+		return EXPIRED_TOKEN;
+	}
+	
+	public static RequestSpecification tamperedToken() {
+		return TAMPERED_TOKEN;
+	}
+	
+	public static RequestSpecification wrongSignatureToken() {
+		return WRONG_SIGNATURE_TOKEN;
+	}
+	
+	public static ResponseSpecification jsonResponse() {
+		return JSON_RESPONSE;
+	}
+	
+	/**
+	 * Headers a request of spec goes out with, credentials included, for
+	 * clients that send the RA requests without RestAssured (the load
+	 * generator). The spec's filters run up to the wire, minus the harness
+	 * filters that record or answer requests, and nothing is sent.
+	 */
+	public static Map<String, String> headers(RequestSpecification spec) {
+		List<Filter> filters = SpecificationQuerier.query(spec).getDefinedFilters().stream()
+				.filter(filter -> filter != RequestLatencyFilter.instance() && filter != TrafficFilter.instance()
+						&& filter != ConditionalCache.instance())
+				.toList();
+		Map<String, String> headers = new LinkedHashMap<>();
+		RestAssured.given()
+				.spec(spec)
+				.noFilters()
+				.filters(filters)
+				.filter((requestSpec, responseSpec, ctx) -> {
+					requestSpec.getHeaders().forEach(header -> headers.put(header.getName(), header.getValue()));
+					return new ResponseBuilder().setStatusCode(204).setBody(new byte[0]).build();
+				})
+				.get("/");
+		return headers;
+	}
+	
+	/**
+	 * JSON specification whose credentials filter runs first, so the
+	 * harness filters see (and key on) the Authorization header.
+	 */
+	private static RequestSpecification json(Filter credentials) {
+		RequestSpecBuilder builder = new RequestSpecBuilder()
+				.setConfig(HttpClientPool.restAssuredConfig())
+				.setBaseUri(baseUri())
+				.setContentType(ContentType.JSON)
+				.setAccept(ContentType.JSON)
+				.addFilter(credentials);
+		return withHarnessFilters(builder, ConditionalCache.isOnEverySpec()).build();
+	}
+	
+	private static RequestSpecification anonymous(boolean revalidating) {
+		RequestSpecBuilder builder = new RequestSpecBuilder()
+				.setConfig(HttpClientPool.restAssuredConfig())
+				.setBaseUri(baseUri());
+		return withHarnessFilters(builder, revalidating).build();
+	}
+	
+	private static RequestSpecBuilder withHarnessFilters(RequestSpecBuilder builder, boolean revalidating) {
+		builder.addFilter(ForkedDataExtension.header());
+		if (revalidating) {
+			builder.addFilter(ConditionalCache.instance());
+		}
+		return builder
+				.addFilter(RequestLatencyFilter.instance())
+				.addFilter(TrafficFilter.instance());
+	}
+	
+	private static Filter bearer(Supplier<String> token) {
+		return (requestSpec, responseSpec, ctx) -> {
+			requestSpec.header("Authorization", "Bearer " + PhaseTimer.time(Phase.AUTH, token));
+			return ctx.next(requestSpec, responseSpec);
+		};
+	}
+
+}
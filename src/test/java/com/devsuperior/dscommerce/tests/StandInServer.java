@@ -0,0 +1,51 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.devsuperior.dscommerce.DscommerceRestassuredApplication;
+
+/**
+ * Starts the in-memory DSCommerce stand-in ({@link DscommerceRestassuredApplication})
+ * once per JVM on a random local port. The context is closed by Spring's
+ * shutdown hook when the JVM exits.
+ * 
+ * {@link HarnessReportListener} boots it before the first RA test runs, so
+ * no test's {@link PhaseTimer} is charged for the boot, which is reported on
+ * its own line instead.
+ */
+public class StandInServer {
+	
+	private static volatile String baseUri;
+	private static volatile long startupNanos;
+	
+	public static String baseUri() {
+		String uri = baseUri;
+		return uri != null ? uri : startOnce();
+	}
+	
+	/**
+	 * Wall time the boot took, or 0 if the server was never started.
+	 */
+	public static long startupMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(startupNanos);
+	}
+	
+	private static synchronized String startOnce() {
+		if (baseUri == null) {
+			long start = System.nanoTime();
+			baseUri = start();
+			startupNanos = System.nanoTime() - start;
+		}
+		return baseUri;
+	}
+	
+	private static String start() {
+		ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(DscommerceRestassuredApplication.class)
+				.run("--server.port=0");
+		return "http://localhost:" + context.getWebServer().getPort();
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seeded users the RA tests log in as.
+ */
+public enum TestUser {
+
+	CLIENT("maria@gmail.com", "123456", "ROLE_CLIENT"),
+	ADMIN("alex@gmail.com", "123456", "ROLE_CLIENT", "ROLE_ADMIN"),
+	ADMIN_ONLY("ana@gmail.com", "123456", "ROLE_ADMIN");
+
+	private final String username;
+	private final String password;
+	private final List<String> roles;
+
+	TestUser(String username, String password, String... roles) {
+		this.username = username;
+		this.password = password;
+		this.roles = List.of(roles);
+	}
+
+	public static Optional<TestUser> byUsername(String username) {
+		for (TestUser user : values()) {
+			if (user.username.equals(username)) {
+				return Optional.of(user);
+			}
+		}
+		return Optional.empty();
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public List<String> getRoles() {
+		return roles;
+	}
+
+	public String accessToken() {
+		return TokenUtil.obtainAccessToken(username, password);
+	}
+
+}
@@ -0,0 +1,154 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe access token cache keyed by (client id, username, password
+ * digest), so a token is only reused for the exact credentials it was granted
+ * to; the password itself is not kept.
+ * 
+ * Each entry holds the token together with its expiry (taken from the
+ * "expires_in" field of the token response) and is refreshed shortly before
+ * it expires. Concurrent lookups for the same key while a fetch is in flight
+ * wait for that single fetch instead of starting their own.
+ */
+public class TokenCache {
+
+	private static final long MAX_REFRESH_SKEW_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+	@FunctionalInterface
+	public interface Loader {
+		Token load(String clientId, String username, String password);
+	}
+
+	public record Key(String clientId, String username, String passwordDigest) {
+		
+		static Key of(String clientId, String username, String password) {
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				digest.update(String.valueOf(password).getBytes(StandardCharsets.UTF_8));
+				return new Key(clientId, username, HexFormat.of().formatHex(digest.digest()));
+			}
+			catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * Access token as returned by the authorization server. A null value means
+	 * the server did not grant a token (wrong credentials, for example).
+	 */
+	public record Token(String value, long expiresInSeconds) {
+	}
+
+	private record Entry(String value, long refreshAtNanos) {
+	}
+
+	private final ConcurrentHashMap<Key, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+	private final Loader loader;
+	private final LongSupplier nanoClock;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public TokenCache(Loader loader) {
+		this(loader, System::nanoTime);
+	}
+
+	public TokenCache(Loader loader, LongSupplier nanoClock) {
+		this.loader = Objects.requireNonNull(loader);
+		this.nanoClock = Objects.requireNonNull(nanoClock);
+	}
+
+	public String get(String clientId, String username, String password) {
+		Key key = Key.of(clientId, username, password);
+		while (true) {
+			CompletableFuture<Entry> current = entries.get(key);
+			if (current != null && isUsable(current)) {
+				hits.increment();
+				return join(current).value();
+			}
+			CompletableFuture<Entry> mine = new CompletableFuture<>();
+			boolean won = current == null ? entries.putIfAbsent(key, mine) == null : entries.replace(key, current, mine);
+			if (!won) {
+				continue;
+			}
+			misses.increment();
+			return load(key, password, mine);
+		}
+	}
+
+	public long hits() {
+		return hits.sum();
+	}
+
+	public long misses() {
+		return misses.sum();
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "TokenCache[hits=" + hits() + ", misses=" + misses() + ", entries=" + entries.size() + "]";
+	}
+
+	private String load(Key key, String password, CompletableFuture<Entry> mine) {
+		Token token;
+		try {
+			token = loader.load(key.clientId(), key.username(), password);
+		}
+		catch (RuntimeException e) {
+			entries.remove(key, mine);
+			mine.completeExceptionally(e);
+			throw e;
+		}
+		if (token == null || token.value() == null) {
+			// not granted: let waiters see the same result but never reuse it
+			entries.remove(key, mine);
+			mine.complete(new Entry(null, nanoClock.getAsLong()));
+			return null;
+		}
+		long lifetime = TimeUnit.SECONDS.toNanos(Math.max(0L, token.expiresInSeconds()));
+		long skew = Math.min(MAX_REFRESH_SKEW_NANOS, lifetime / 10);
+		mine.complete(new Entry(token.value(), nanoClock.getAsLong() + lifetime - skew));
+		return token.value();
+	}
+
+	private boolean isUsable(CompletableFuture<Entry> future) {
+		if (!future.isDone()) {
+			// a fetch is in flight: share it instead of issuing another one
+			return true;
+		}
+		if (future.isCompletedExceptionally()) {
+			return false;
+		}
+		Entry entry = future.join();
+		return entry.value() != null && nanoClock.getAsLong() - entry.refreshAtNanos() < 0;
+	}
+
+	private static Entry join(CompletableFuture<Entry> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.devsuperior.dscommerce.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenCacheTest {
+	
+	@Test
+	public void getShouldFetchOnceAndReuseTokenWhileNotExpired() {
+		AtomicInteger calls = new AtomicInteger();
+		TokenCache cache = new TokenCache((client, user, pass) -> new TokenCache.Token(user + calls.incrementAndGet(), 86400));
+		
+		assertEquals("maria@gmail.com1", cache.get("myclientid", "maria@gmail.com", "123456"));
+		assertEquals("maria@gmail.com1", cache.get("myclientid", "maria@gmail.com", "123456"));
+		assertEquals("alex@gmail.com2", cache.get("myclientid", "alex@gmail.com", "123456"));
+		
+		assertEquals(2, calls.get());
+		assertEquals(1, cache.hits());
+		assertEquals(2, cache.misses());
+	}
+	
+	@Test
+	public void getShouldRefreshTokenShortlyBeforeExpiry() {
+		AtomicLong now = new AtomicLong();
+		AtomicInteger calls = new AtomicInteger();
+		TokenCache cache = new TokenCache((client, user, pass) -> new TokenCache.Token("t" + calls.incrementAndGet(), 100), now::get);
+		
+		assertEquals("t1", cache.get("myclientid", "maria@gmail.com", "123456"));
+		now.set(TimeUnit.SECONDS.toNanos(89));
+		assertEquals("t1", cache.get("myclientid", "maria@gmail.com", "123456"));
+		now.set(TimeUnit.SECONDS.toNanos(91));
+		assertEquals("t2", cache.get("myclientid", "maria@gmail.com", "123456"));
+	}
+	
+	@Test
+	public void getShouldMissWhenSameUserSendsDifferentPassword() {
+		AtomicInteger calls = new AtomicInteger();
+		TokenCache cache = new TokenCache((client, user, pass) -> {
+			calls.incrementAndGet();
+			return "123456".equals(pass) ? new TokenCache.Token("granted", 86400) : null;
+		});
+		
+		assertEquals("granted", cache.get("myclientid", "maria@gmail.com", "123456"));
+		assertNull(cache.get("myclientid", "maria@gmail.com", "wrong"));
+		
+		assertEquals(2, calls.get());
+		assertEquals(0, cache.hits());
+		assertEquals(2, cache.misses());
+	}
+	
+	@Test
+	public void getShouldNotCacheRejectedCredentials() {
+		AtomicInteger calls = new AtomicInteger();
+		TokenCache cache = new TokenCache((client, user, pass) -> {
+			calls.incrementAndGet();
+			return null;
+		});
+		
+		assertNull(cache.get("myclientid", "maria@gmail.com", "wrong"));
+		assertNull(cache.get("myclientid", "maria@gmail.com", "wrong"));
+		assertEquals(2, calls.get());
+	}
+	
+	@Test
+	public void getShouldCollapseConcurrentFetchesForSameUser() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		TokenCache cache = new TokenCache((client, user, pass) -> {
+			calls.incrementAndGet();
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new TokenCache.Token("shared", 86400);
+		});
+		
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				results.add(executor.submit(() -> cache.get("myclientid", "alex@gmail.com", "123456")));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("shared", result.get(5, TimeUnit.SECONDS));
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, calls.get());
+		assertEquals(1, cache.misses());
+		assertEquals(15, cache.hits());
+	}
+
+}
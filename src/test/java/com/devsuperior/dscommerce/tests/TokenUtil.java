@@ -4,23 +4,93 @@ import static io.restassured.RestAssured.*;
 import static io.restassured.matcher.RestAssuredMatchers.*;
 import static org.hamcrest.Matchers.*;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 
 @SuppressWarnings("unused")
 public class TokenUtil {
 	
+	private static final String CLIENT_ID = "myclientid";
+	private static final String CLIENT_SECRET = "myclientsecret";
+	
+	private static final Duration MINTED_LIFETIME = Duration.ofHours(1);
+	
+	private static final boolean MINT = Boolean.parseBoolean(System.getProperty("auth.mint",
+			String.valueOf(System.getProperty(SpecUtil.BASE_URI_PROPERTY, "").isBlank())));
+	
+	private static final TokenCache CACHE = new TokenCache(TokenUtil::loadToken);
+	private static final Map<String, String> PRINCIPALS = new ConcurrentHashMap<>();
+	
 	public static String obtainAccessToken(String username, String password) {
+		return CACHE.get(CLIENT_ID, username, password);
+	}
+	
+	public static TokenCache tokenCache() {
+		return CACHE;
+	}
+	
+	/**
+	 * Whether tokens of the {@link TestUser}s are minted locally with
+	 * {@link JwtMinter} instead of fetched from /oauth2/token: by default only
+	 * against the stand-in server, or as set by -Dauth.mint.
+	 */
+	public static boolean isMinting() {
+		return MINT;
+	}
+	
+	/**
+	 * Header value with every token this class handed out replaced by the user
+	 * it was issued to, so recorded traffic doesn't depend on token values.
+	 */
+	public static String normalizeCredentials(String headerValue) {
+		String normalized = headerValue;
+		for (Map.Entry<String, String> principal : PRINCIPALS.entrySet()) {
+			normalized = normalized.replace(principal.getKey(), "{" + principal.getValue() + "}");
+		}
+		return normalized;
+	}
+	
+	private static TokenCache.Token loadToken(String clientId, String username, String password) {
+		Optional<TestUser> user = MINT ? TestUser.byUsername(username) : Optional.empty();
+		TokenCache.Token token = user.isPresent()
+				? new TokenCache.Token(JwtMinter.mint(user.get(), MINTED_LIFETIME), MINTED_LIFETIME.toSeconds())
+				: fetchToken(username, password);
+		if (token != null) {
+			PRINCIPALS.put(token.value(), username);
+		}
+		return token;
+	}
+	
+	/**
+	 * Token from a fresh password grant, bypassing the cache and minting.
+	 */
+	public static String passwordGrant(String username, String password) {
+		TokenCache.Token token = fetchToken(username, password);
+		return token == null ? null : token.value();
+	}
+	
+	private static TokenCache.Token fetchToken(String username, String password) {
 		Response response = authRequest(username, password);
 		JsonPath jsonBody = response.jsonPath();
-		return jsonBody.getString("access_token");
+		String accessToken = jsonBody.getString("access_token");
+		if (accessToken == null) {
+			return null;
+		}
+		Number expiresIn = jsonBody.get("expires_in");
+		return new TokenCache.Token(accessToken, expiresIn == null ? 0L : expiresIn.longValue());
 	}
 
-	private static Response authRequest(String username, String password) {
+	public static Response authRequest(String username, String password) {
 		return given()
+				.spec(SpecUtil.anonymous())
 				.auth()
 				.preemptive()
-				.basic("myclientid", "myclientsecret")
+				.basic(CLIENT_ID, CLIENT_SECRET)
 					.contentType("application/x-www-form-urlencoded")
 						.formParam("grant_type", "password")
 						.formParam("username", username)
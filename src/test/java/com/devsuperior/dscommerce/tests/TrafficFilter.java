@@ -0,0 +1,197 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.devsuperior.dscommerce.tests.TrafficStore.RecordedResponse;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records every RestAssured exchange of the harness into a {@link TrafficStore}
+ * (-Dhttp.traffic=record), or answers requests from it without touching the
+ * network (-Dhttp.traffic=replay). The file is -Dhttp.traffic.file, by
+ * default target/http-traffic.bin.
+ * 
+ * An exchange is keyed by the test that made it ({@link TrafficScopeExtension}),
+ * the method, the path with its query parameters sorted, the Authorization,
+ * Accept and Content-Type headers, a hash of the body or form parameters, and
+ * how many identical requests that test made before. Tests run one request at
+ * a time on their own thread, so keys are stable however the suite is
+ * scheduled. Token fetches and data forks are shared plumbing and keyed
+ * without the test. Bearer tokens are replaced by the user they were issued
+ * to, and replayed token responses hand out the recorded tokens again, so
+ * keys match across runs.
+ */
+public class TrafficFilter implements Filter {
+	
+	public static final String REPLAY_BASE_URI = "http://replay.invalid";
+	
+	private static final String MODE = System.getProperty("http.traffic", "off");
+	private static final Path FILE = Path.of(System.getProperty("http.traffic.file", "target/http-traffic.bin"));
+	private static final List<String> KEY_HEADERS = List.of("Authorization", "Accept", "Content-Type");
+	private static final List<String> SHARED_PATHS = List.of("/oauth2/token", "/forks");
+	
+	private static final TrafficFilter INSTANCE = new TrafficFilter();
+	
+	private final Map<String, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+	private final LongAdder exchanges = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private volatile TrafficStore store;
+	
+	public static TrafficFilter instance() {
+		return INSTANCE;
+	}
+	
+	public static boolean isRecording() {
+		return "record".equals(MODE);
+	}
+	
+	public static boolean isReplaying() {
+		return "replay".equals(MODE);
+	}
+	
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		if (!isRecording() && !isReplaying()) {
+			return ctx.next(requestSpec, responseSpec);
+		}
+		String key = key(requestSpec);
+		int occurrence = occurrences.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+		exchanges.increment();
+		if (isReplaying()) {
+			RecordedResponse recorded = store().find(key, occurrence);
+			if (recorded == null) {
+				misses.increment();
+				throw new AssertionError("No recorded response in " + FILE + " for " + key.replace('\n', ' '));
+			}
+			return toResponse(recorded);
+		}
+		Response response = ctx.next(requestSpec, responseSpec);
+		store().append(key, toRecorded(response));
+		return response;
+	}
+	
+	static String key(FilterableRequestSpecification requestSpec) {
+		URI uri = URI.create(requestSpec.getURI());
+		String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+		StringBuilder key = new StringBuilder();
+		boolean shared = SHARED_PATHS.stream().anyMatch(path::startsWith);
+		key.append(shared ? "*" : TrafficScopeExtension.currentScope()).append('\n');
+		key.append(requestSpec.getMethod()).append(' ').append(path);
+		if (uri.getRawQuery() != null) {
+			String[] params = uri.getRawQuery().split("&");
+			Arrays.sort(params);
+			key.append('?').append(String.join("&", params));
+		}
+		for (String name : KEY_HEADERS) {
+			Header header = requestSpec.getHeaders().get(name);
+			if (header != null) {
+				key.append('\n').append(name).append(": ").append(TokenUtil.normalizeCredentials(header.getValue()));
+			}
+		}
+		key.append('\n').append(bodyHash(requestSpec));
+		return key.toString();
+	}
+	
+	private static String bodyHash(FilterableRequestSpecification requestSpec) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			Object body = requestSpec.getBody();
+			if (body instanceof byte[] bytes) {
+				digest.update(bytes);
+			}
+			else if (body != null) {
+				digest.update(body.toString().getBytes(StandardCharsets.UTF_8));
+			}
+			new TreeMap<>(requestSpec.getFormParams()).forEach((name, value) ->
+					digest.update((name + "=" + value + "&").getBytes(StandardCharsets.UTF_8)));
+			return HexFormat.of().formatHex(digest.digest(), 0, 8);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	static RecordedResponse toRecorded(Response response) {
+		Map<String, String> headers = new LinkedHashMap<>();
+		for (Header header : response.getHeaders()) {
+			headers.putIfAbsent(header.getName(), header.getValue());
+		}
+		byte[] body = response.asByteArray();
+		return new RecordedResponse(response.statusCode(), response.statusLine(), headers, body == null ? new byte[0] : body);
+	}
+	
+	static Response toResponse(RecordedResponse recorded) {
+		ResponseBuilder builder = new ResponseBuilder()
+				.setStatusCode(recorded.statusCode())
+				.setStatusLine(recorded.statusLine())
+				.setHeaders(new Headers(recorded.headers().entrySet().stream()
+						.map(header -> new Header(header.getKey(), header.getValue()))
+						.toList()))
+				.setBody(recorded.body());
+		String contentType = recorded.headers().get("Content-Type");
+		if (contentType != null) {
+			// built responses don't get the live decoder's UTF-8 default for JSON
+			boolean json = contentType.contains("json") && !contentType.contains("charset");
+			builder.setContentType(json ? contentType + ";charset=UTF-8" : contentType);
+		}
+		return builder.build();
+	}
+	
+	private TrafficStore store() {
+		TrafficStore current = store;
+		if (current == null) {
+			synchronized (this) {
+				current = store;
+				if (current == null) {
+					try {
+						current = isReplaying() ? TrafficStore.open(FILE) : TrafficStore.create(FILE);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					store = current;
+				}
+			}
+		}
+		return current;
+	}
+	
+	/**
+	 * Flushes a recording and returns a one-line summary, or null when the
+	 * filter was off.
+	 */
+	public String close() throws IOException {
+		TrafficStore current = store;
+		if (current == null) {
+			return null;
+		}
+		current.close();
+		return isReplaying()
+				? "replayed " + exchanges.sum() + " exchanges from " + FILE + " (" + misses.sum() + " not recorded)"
+				: "recorded " + exchanges.sum() + " exchanges to " + FILE;
+	}
+
+}
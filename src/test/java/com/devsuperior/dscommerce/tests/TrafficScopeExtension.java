@@ -0,0 +1,60 @@
+package com.devsuperior.dscommerce.tests;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.DynamicTestInvocationContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+
+/**
+ * Binds the unique id of the running test to its thread, from before its
+ * @BeforeEach methods until after its @AfterEach methods (dynamic tests:
+ * while they run), so {@link TrafficFilter} can key exchanges by test.
+ * Registered through META-INF/services.
+ */
+public class TrafficScopeExtension implements BeforeEachCallback, AfterEachCallback, InvocationInterceptor {
+	
+	private static final ThreadLocal<String> SCOPE = new ThreadLocal<>();
+	
+	public static String currentScope() {
+		String scope = SCOPE.get();
+		return scope == null ? "*" : scope;
+	}
+	
+	static String boundScope() {
+		return SCOPE.get();
+	}
+	
+	static void bindScope(String scope) {
+		if (scope == null) {
+			SCOPE.remove();
+		}
+		else {
+			SCOPE.set(scope);
+		}
+	}
+	
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		SCOPE.set(context.getUniqueId());
+	}
+	
+	@Override
+	public void afterEach(ExtensionContext context) {
+		SCOPE.remove();
+	}
+	
+	@Override
+	public void interceptDynamicTest(Invocation<Void> invocation, DynamicTestInvocationContext invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		String previous = SCOPE.get();
+		SCOPE.set(extensionContext.getUniqueId());
+		try {
+			invocation.proceed();
+		}
+		finally {
+			SCOPE.set(previous);
+		}
+	}
+
+}
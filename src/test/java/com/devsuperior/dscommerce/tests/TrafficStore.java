@@ -0,0 +1,155 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary file of recorded HTTP exchanges.
+ * 
+ * Each record is a length-prefixed key followed by the response: status code,
+ * status line, headers and body. Strings are stored as an int length plus
+ * UTF-8 bytes. A reader maps the whole file read-only and indexes record
+ * offsets by key in one pass, so a lookup is a hash probe plus decoding one
+ * record from the mapped buffer; responses recorded under the same key are
+ * kept in recording order.
+ */
+public class TrafficStore {
+	
+	public record RecordedResponse(int statusCode, String statusLine, Map<String, String> headers, byte[] body) {
+	}
+	
+	private final FileChannel writer;
+	private final MappedByteBuffer mapped;
+	private final Map<String, List<Integer>> index;
+	
+	private TrafficStore(FileChannel writer, MappedByteBuffer mapped, Map<String, List<Integer>> index) {
+		this.writer = writer;
+		this.mapped = mapped;
+		this.index = index;
+	}
+	
+	/**
+	 * Starts a new recording, replacing any previous file.
+	 */
+	public static TrafficStore create(Path file) throws IOException {
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		return new TrafficStore(channel, null, null);
+	}
+	
+	public static TrafficStore open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			Map<String, List<Integer>> index = new HashMap<>();
+			int position = 0;
+			while (position < mapped.limit()) {
+				int length = mapped.getInt(position);
+				int keyLength = mapped.getInt(position + 4);
+				byte[] key = new byte[keyLength];
+				mapped.get(position + 8, key);
+				index.computeIfAbsent(new String(key, StandardCharsets.UTF_8), k -> new ArrayList<>(1))
+						.add(position + 8 + keyLength);
+				position += 4 + length;
+			}
+			return new TrafficStore(null, mapped, index);
+		}
+	}
+	
+	public synchronized void append(String key, RecordedResponse response) {
+		Encoder encoder = new Encoder();
+		encoder.putString(key);
+		encoder.putInt(response.statusCode());
+		encoder.putString(response.statusLine());
+		encoder.putInt(response.headers().size());
+		response.headers().forEach((name, value) -> {
+			encoder.putString(name);
+			encoder.putString(value);
+		});
+		encoder.putBytes(response.body());
+		byte[] record = encoder.toByteArray();
+		ByteBuffer buffer = ByteBuffer.allocate(4 + record.length).putInt(record.length).put(record).flip();
+		try {
+			while (buffer.hasRemaining()) {
+				writer.write(buffer);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * The occurrence-th response recorded under the key (the last one when the
+	 * key was recorded fewer times), or null.
+	 */
+	public RecordedResponse find(String key, int occurrence) {
+		List<Integer> offsets = index.get(key);
+		if (offsets == null) {
+			return null;
+		}
+		ByteBuffer record = mapped.duplicate().position(offsets.get(Math.min(occurrence, offsets.size() - 1)));
+		int statusCode = record.getInt();
+		String statusLine = getString(record);
+		int headerCount = record.getInt();
+		Map<String, String> headers = new LinkedHashMap<>();
+		for (int i = 0; i < headerCount; i++) {
+			headers.put(getString(record), getString(record));
+		}
+		byte[] body = new byte[record.getInt()];
+		record.get(body);
+		return new RecordedResponse(statusCode, statusLine, headers, body);
+	}
+	
+	public int size() {
+		return index == null ? 0 : index.values().stream().mapToInt(List::size).sum();
+	}
+	
+	public void close() throws IOException {
+		if (writer != null) {
+			writer.force(false);
+			writer.close();
+		}
+	}
+	
+	private static String getString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private static class Encoder extends ByteArrayOutputStream {
+		
+		void putInt(int value) {
+			write(value >>> 24);
+			write(value >>> 16);
+			write(value >>> 8);
+			write(value);
+		}
+		
+		void putBytes(byte[] bytes) {
+			putInt(bytes.length);
+			write(bytes, 0, bytes.length);
+		}
+		
+		void putString(String value) {
+			putBytes(value.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.devsuperior.dscommerce.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.devsuperior.dscommerce.tests.TrafficStore.RecordedResponse;
+
+public class TrafficStoreTest {
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void findShouldReturnResponsesInRecordingOrderPerKey() throws IOException {
+		Path file = directory.resolve("traffic.bin");
+		TrafficStore writer = TrafficStore.create(file);
+		writer.append("GET /products/{id}", response(200, "{\"name\":\"Smart TV\"}"));
+		writer.append("DELETE /products/25", response(204, ""));
+		writer.append("GET /products/{id}", response(404, "{\"error\":\"Recurso não encontrado\"}"));
+		writer.close();
+		
+		TrafficStore reader = TrafficStore.open(file);
+		
+		assertEquals(3, reader.size());
+		assertEquals(200, reader.find("GET /products/{id}", 0).statusCode());
+		RecordedResponse second = reader.find("GET /products/{id}", 1);
+		assertEquals(404, second.statusCode());
+		assertEquals("{\"error\":\"Recurso não encontrado\"}", new String(second.body(), StandardCharsets.UTF_8));
+		assertEquals("application/json", second.headers().get("Content-Type"));
+		assertEquals(404, reader.find("GET /products/{id}", 5).statusCode());
+		assertEquals(0, reader.find("DELETE /products/25", 0).body().length);
+		assertNull(reader.find("GET /orders/1", 0));
+	}
+	
+	private static RecordedResponse response(int status, String body) {
+		return new RecordedResponse(status, "HTTP/1.1 " + status, Map.of("Content-Type", "application/json"),
+				body.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.devsuperior.dscommerce.tests;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DynamicTest;
+
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Table of request body validation cases: every field mutation is sent to
+ * every endpoint, each pair becoming a JUnit dynamic test. A rejected
+ * mutation expects 422 with the message on that field in "errors"; an
+ * accepted one expects the endpoint's success status.
+ *
+ * The variant bodies are serialized once while the table is expanded and
+ * all cases share one pre-built specification (and so its cached token);
+ * JUnit runs the dynamic tests concurrently. Accepted cases write, so the
+ * test factory should be {@link ForkedData}.
+ *
+ * <pre>
+ * return ValidationMatrix.as(admin())
+ *     .post("/products", POST_PRODUCT)
+ *     .put("/products/10", PUT_PRODUCT)
+ *     .rejects("name", "Me", "Nome precisar ter de 3 a 80 caracteres")
+ *     .accepts("name", "Mes")
+ *     .tests();
+ * </pre>
+ */
+public final class ValidationMatrix {
+
+	private record Endpoint(String method, String path, JsonPayload valid, int successStatus) {
+	}
+
+	private record Mutation(String field, Object value, String message) {
+	}
+
+	private final RequestSpecification spec;
+	private final List<Endpoint> endpoints = new ArrayList<>();
+	private final List<Mutation> mutations = new ArrayList<>();
+
+	private ValidationMatrix(RequestSpecification spec) {
+		this.spec = spec;
+	}
+
+	public static ValidationMatrix as(RequestSpecification spec) {
+		return new ValidationMatrix(spec);
+	}
+
+	public ValidationMatrix post(String path, JsonPayload valid) {
+		endpoints.add(new Endpoint("POST", path, valid, 201));
+		return this;
+	}
+
+	public ValidationMatrix put(String path, JsonPayload valid) {
+		endpoints.add(new Endpoint("PUT", path, valid, 200));
+		return this;
+	}
+
+	public ValidationMatrix rejects(String field, Object value, String message) {
+		mutations.add(new Mutation(field, value, message));
+		return this;
+	}
+
+	public ValidationMatrix accepts(String field, Object value) {
+		mutations.add(new Mutation(field, value, null));
+		return this;
+	}
+
+	public Stream<DynamicTest> tests() {
+		List<DynamicTest> tests = new ArrayList<>(endpoints.size() * mutations.size());
+		for (Endpoint endpoint : endpoints) {
+			for (Mutation mutation : mutations) {
+				byte[] body = endpoint.valid().with(mutation.field(), mutation.value()).bytes();
+				tests.add(DynamicTest.dynamicTest(displayName(endpoint, mutation), () -> check(endpoint, mutation, body)));
+			}
+		}
+		return tests.stream();
+	}
+
+	private void check(Endpoint endpoint, Mutation mutation, byte[] body) {
+		ValidatableResponse response = given()
+			.spec(spec)
+			.body(body)
+			.request(endpoint.method(), endpoint.path())
+			.then();
+		if (mutation.message() == null) {
+			response.statusCode(endpoint.successStatus());
+			return;
+		}
+		response
+			.statusCode(422)
+			.body("errors", hasItem(allOf(hasEntry("fieldName", mutation.field()), hasEntry("message", mutation.message()))));
+	}
+
+	private static String displayName(Endpoint endpoint, Mutation mutation) {
+		String value = String.valueOf(mutation.value());
+		if (mutation.value() instanceof String text) {
+			value = text.length() > 12 ? "\"" + text.substring(0, 8) + "...\" (" + text.length() + " chars)" : "\"" + text + "\"";
+		}
+		String expected = mutation.message() == null ? String.valueOf(endpoint.successStatus()) : "422 " + mutation.message();
+		return endpoint.method() + " " + endpoint.path() + " " + mutation.field() + "=" + value + " -> " + expected;
+	}
+
+}